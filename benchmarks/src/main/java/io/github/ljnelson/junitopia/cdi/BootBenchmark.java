@@ -0,0 +1,67 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+// Measures what CdiSupport adds to every test that gets its own SeContainer: newSeContainerInitializer, initialize()
+// and, when the method-level Store is closed, SeContainer#close().
+@BenchmarkMode(AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+public class BootBenchmark {
+
+  private CdiSupport cdiSupport;
+
+  private FakeExtensionContext classEc;
+
+  public BootBenchmark() {
+    super();
+  }
+
+  @Setup
+  public void setUp() {
+    this.cdiSupport = Fixture.cdiSupport();
+    this.classEc = Fixture.classEc();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    this.classEc.close();
+  }
+
+  @Benchmark
+  public void bootAndClose() throws Exception {
+    try (final FakeExtensionContext methodEc = Fixture.methodEc(this.classEc)) {
+      this.cdiSupport.beforeTestExecution(methodEc);
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import org.junit.jupiter.api.extension.ExecutableInvoker;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestInstances;
+
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+
+// An ExtensionContext that stands in for JUnit's engine-, class- and method-level ExtensionContexts so that the
+// extensions can be driven outside of a running engine.
+final class FakeExtensionContext implements ExtensionContext, AutoCloseable {
+
+  private final FakeExtensionContext parent;
+
+  private final Class<?> testClass;
+
+  private final Method testMethod;
+
+  private final Object testInstance;
+
+  private final Map<String, String> configurationParameters;
+
+  private final Map<Namespace, FakeStore> stores;
+
+  // Engine-level
+  FakeExtensionContext(final Map<String, String> configurationParameters) {
+    this(null, null, null, null, configurationParameters);
+  }
+
+  // Class-level
+  FakeExtensionContext(final FakeExtensionContext parent, final Class<?> testClass) {
+    this(parent, testClass, null, null, parent.configurationParameters);
+  }
+
+  // Method-level
+  FakeExtensionContext(final FakeExtensionContext parent, final Method testMethod, final Object testInstance) {
+    this(parent, parent.testClass, testMethod, testInstance, parent.configurationParameters);
+  }
+
+  private FakeExtensionContext(final FakeExtensionContext parent,
+                               final Class<?> testClass,
+                               final Method testMethod,
+                               final Object testInstance,
+                               final Map<String, String> configurationParameters) {
+    super();
+    this.parent = parent;
+    this.testClass = testClass;
+    this.testMethod = testMethod;
+    this.testInstance = testInstance;
+    this.configurationParameters = Map.copyOf(configurationParameters);
+    this.stores = new ConcurrentHashMap<>();
+  }
+
+  @Override // ExtensionContext
+  public final Optional<ExtensionContext> getParent() {
+    return Optional.ofNullable(this.parent);
+  }
+
+  @Override // ExtensionContext
+  public final ExtensionContext getRoot() {
+    return this.parent == null ? this : this.parent.getRoot();
+  }
+
+  @Override // ExtensionContext
+  public final String getUniqueId() {
+    return String.valueOf(System.identityHashCode(this));
+  }
+
+  @Override // ExtensionContext
+  public final String getDisplayName() {
+    return this.testMethod != null ? this.testMethod.getName() : this.testClass != null ? this.testClass.getName() : "engine";
+  }
+
+  @Override // ExtensionContext
+  public final Set<String> getTags() {
+    return Set.of();
+  }
+
+  @Override // ExtensionContext
+  public final Optional<AnnotatedElement> getElement() {
+    return Optional.ofNullable(this.testMethod != null ? this.testMethod : this.testClass);
+  }
+
+  @Override // ExtensionContext
+  public final Optional<Class<?>> getTestClass() {
+    return Optional.ofNullable(this.testClass);
+  }
+
+  @Override // ExtensionContext
+  public final Optional<Lifecycle> getTestInstanceLifecycle() {
+    return this.testClass == null ? Optional.empty() : Optional.of(PER_METHOD);
+  }
+
+  @Override // ExtensionContext
+  public final Optional<Object> getTestInstance() {
+    return Optional.ofNullable(this.testInstance);
+  }
+
+  @Override // ExtensionContext
+  public final Optional<TestInstances> getTestInstances() {
+    return Optional.empty();
+  }
+
+  @Override // ExtensionContext
+  public final Optional<Method> getTestMethod() {
+    return Optional.ofNullable(this.testMethod);
+  }
+
+  @Override // ExtensionContext
+  public final Optional<Throwable> getExecutionException() {
+    return Optional.empty();
+  }
+
+  @Override // ExtensionContext
+  public final Optional<String> getConfigurationParameter(final String key) {
+    return Optional.ofNullable(this.configurationParameters.get(key));
+  }
+
+  @Override // ExtensionContext
+  public final <T> Optional<T> getConfigurationParameter(final String key, final Function<String, T> transformer) {
+    return this.getConfigurationParameter(key).map(transformer);
+  }
+
+  @Override // ExtensionContext
+  public final void publishReportEntry(final Map<String, String> map) {
+
+  }
+
+  @Override // ExtensionContext
+  public final Store getStore(final Namespace namespace) {
+    return this.store(namespace);
+  }
+
+  private final FakeStore store(final Namespace namespace) {
+    return this.stores.computeIfAbsent(namespace, ns -> new FakeStore(this.parent == null ? null : this.parent.store(ns)));
+  }
+
+  @Override // ExtensionContext
+  public final ExecutionMode getExecutionMode() {
+    return ExecutionMode.SAME_THREAD;
+  }
+
+  @Override // ExtensionContext
+  public final ExecutableInvoker getExecutableInvoker() {
+    throw new UnsupportedOperationException();
+  }
+
+  // (Declares no checked exceptions, so that try-with-resources does not warn that close() could throw
+  // InterruptedException.)
+  @Override // AutoCloseable
+  public final void close() {
+    for (final FakeStore store : this.stores.values()) {
+      try {
+        store.close();
+      } catch (final RuntimeException | Error e) {
+        throw e;
+      } catch (final Throwable t) {
+        throw new IllegalStateException(t.getMessage(), t);
+      }
+    }
+    this.stores.clear();
+  }
+
+}
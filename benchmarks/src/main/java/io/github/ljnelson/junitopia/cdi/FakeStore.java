@@ -0,0 +1,113 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+// A hierarchical Store that behaves, for benchmarking purposes, like the one JUnit supplies: lookups walk up to the
+// parent, and closing it closes its CloseableResources, most recently stored first.
+final class FakeStore implements Store {
+
+  private final FakeStore parent;
+
+  private final Map<Object, Object> map;
+
+  private final List<Object> insertionOrder;
+
+  FakeStore(final FakeStore parent) {
+    super();
+    this.parent = parent;
+    this.map = new ConcurrentHashMap<>();
+    this.insertionOrder = Collections.synchronizedList(new ArrayList<>());
+  }
+
+  @Override // Store
+  public final Object get(final Object key) {
+    final Object value = this.map.get(key);
+    return value == null && this.parent != null ? this.parent.get(key) : value;
+  }
+
+  @Override // Store
+  public final <V> V get(final Object key, final Class<V> requiredType) {
+    return requiredType.cast(this.get(key));
+  }
+
+  @Override // Store
+  public final <K, V> Object getOrComputeIfAbsent(final K key, final Function<K, V> defaultCreator) {
+    Object value = this.get(key);
+    if (value == null) {
+      // Like JUnit, do not compute inside the map, since computations routinely use the Store themselves.
+      value = Objects.requireNonNull(defaultCreator.apply(key), "value");
+      final Object existing = this.map.putIfAbsent(key, value);
+      if (existing == null) {
+        this.insertionOrder.add(value);
+      } else {
+        value = existing;
+      }
+    }
+    return value;
+  }
+
+  @Override // Store
+  public final <K, V> V getOrComputeIfAbsent(final K key, final Function<K, V> defaultCreator, final Class<V> requiredType) {
+    return requiredType.cast(this.getOrComputeIfAbsent(key, defaultCreator));
+  }
+
+  @Override // Store
+  public final void put(final Object key, final Object value) {
+    this.map.put(key, value);
+    this.insertionOrder.add(value);
+  }
+
+  @Override // Store
+  public final Object remove(final Object key) {
+    final Object value = this.map.remove(key);
+    if (value != null) {
+      this.insertionOrder.remove(value);
+    }
+    return value;
+  }
+
+  @Override // Store
+  public final <V> V remove(final Object key, final Class<V> requiredType) {
+    return requiredType.cast(this.remove(key));
+  }
+
+  final void close() throws Throwable {
+    final List<Object> values;
+    synchronized (this.insertionOrder) {
+      values = new ArrayList<>(this.insertionOrder);
+      this.insertionOrder.clear();
+    }
+    Collections.reverse(values);
+    for (final Object value : values) {
+      if (value instanceof CloseableResource) {
+        ((CloseableResource)value).close();
+      }
+    }
+    this.map.clear();
+  }
+
+}
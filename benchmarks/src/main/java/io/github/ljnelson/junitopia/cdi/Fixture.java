@@ -0,0 +1,133 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.InvocationInterceptor.Invocation;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+// The "test class" the benchmarks drive the extensions against, together with the JUnit machinery needed to do so.
+public class Fixture {
+
+  static final Method TEST_METHOD;
+
+  static {
+    try {
+      TEST_METHOD = Fixture.class.getDeclaredMethod("test", Gorp.class);
+    } catch (final NoSuchMethodException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  @Inject
+  public Fixture() {
+    super();
+  }
+
+  @Test
+  public void test(final Gorp gorp) {
+    gorp.id();
+  }
+
+  static final CdiSupport cdiSupport() {
+    return new CdiSupport(() -> SeContainerInitializer.newInstance()
+                          .disableDiscovery()
+                          .addBeanClasses(Gorp.class));
+  }
+
+  static final FakeExtensionContext classEc() {
+    return new FakeExtensionContext(new FakeExtensionContext(Map.of()), Fixture.class);
+  }
+
+  static final FakeExtensionContext methodEc(final FakeExtensionContext classEc) {
+    return new FakeExtensionContext(classEc, TEST_METHOD, new Fixture());
+  }
+
+  static final ParameterContext parameterContext() {
+    return new ParameterContext() {
+      @Override
+      public final Parameter getParameter() {
+        return TEST_METHOD.getParameters()[0];
+      }
+      @Override
+      public final int getIndex() {
+        return 0;
+      }
+      @Override
+      public final Optional<Object> getTarget() {
+        return Optional.empty();
+      }
+    };
+  }
+
+  // Invokes the test method reflectively, as JUnit itself does.
+  static final Invocation<Void> invocation(final Object testInstance, final Object... arguments) {
+    return () -> {
+      TEST_METHOD.invoke(testInstance, arguments);
+      return null;
+    };
+  }
+
+  static final ReflectiveInvocationContext<Method> invocationContext(final Object testInstance,
+                                                                    final Object... arguments) {
+    return new ReflectiveInvocationContext<>() {
+      @Override
+      public final Class<?> getTargetClass() {
+        return Fixture.class;
+      }
+      @Override
+      public final Method getExecutable() {
+        return TEST_METHOD;
+      }
+      @Override
+      public final List<Object> getArguments() {
+        return List.of(arguments);
+      }
+      @Override
+      public final Optional<Object> getTarget() {
+        return Optional.of(testInstance);
+      }
+    };
+  }
+
+  @TestScoped
+  public static class Gorp {
+
+    private final Object id;
+
+    public Gorp() {
+      super();
+      this.id = new Object();
+    }
+
+    public Object id() {
+      return this.id;
+    }
+
+  }
+
+}
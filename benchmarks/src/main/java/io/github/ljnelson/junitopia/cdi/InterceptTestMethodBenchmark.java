@@ -0,0 +1,88 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.extension.InvocationInterceptor.Invocation;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+// Compares CdiSupport#interceptTestMethod, which dispatches the test method to the test class' contextual reference,
+// with JUnit's own reflective invocation of it on the JUnit-created test instance.
+@BenchmarkMode(AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class InterceptTestMethodBenchmark {
+
+  private CdiSupport cdiSupport;
+
+  private FakeExtensionContext classEc;
+
+  private FakeExtensionContext methodEc;
+
+  private Invocation<Void> invocation;
+
+  private ReflectiveInvocationContext<Method> invocationContext;
+
+  public InterceptTestMethodBenchmark() {
+    super();
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    this.cdiSupport = Fixture.cdiSupport();
+    this.classEc = Fixture.classEc();
+    this.methodEc = Fixture.methodEc(this.classEc);
+    this.cdiSupport.beforeTestExecution(this.methodEc);
+    final Object testInstance = this.methodEc.getRequiredTestInstance();
+    final Object gorp = this.cdiSupport.resolveParameter(Fixture.parameterContext(), this.methodEc);
+    this.invocation = Fixture.invocation(testInstance, gorp);
+    this.invocationContext = Fixture.invocationContext(testInstance, gorp);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    this.methodEc.close();
+    this.classEc.close();
+  }
+
+  @Benchmark
+  public void interceptTestMethod() throws Throwable {
+    this.cdiSupport.interceptTestMethod(this.invocation, this.invocationContext, this.methodEc);
+  }
+
+  @Benchmark
+  public void junit() throws Throwable {
+    this.invocation.proceed();
+  }
+
+}
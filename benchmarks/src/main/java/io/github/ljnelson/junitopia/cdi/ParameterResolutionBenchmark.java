@@ -0,0 +1,91 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import org.junit.jupiter.api.extension.ParameterContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+// Measures the per-parameter cost of CdiArgumentResolver (by way of CdiSupport), which JUnit pays for every parameter
+// of every test method, lifecycle method and constructor.
+@BenchmarkMode(AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class ParameterResolutionBenchmark {
+
+  private CdiSupport cdiSupport;
+
+  private FakeExtensionContext classEc;
+
+  private FakeExtensionContext methodEc;
+
+  private ParameterContext parameterContext;
+
+  public ParameterResolutionBenchmark() {
+    super();
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    this.cdiSupport = Fixture.cdiSupport();
+    this.classEc = Fixture.classEc();
+    this.parameterContext = Fixture.parameterContext();
+  }
+
+  // resolveParameter leaves a CreationalContext in the method-level Store each time it is called, so start each
+  // iteration with a fresh one.
+  @Setup(Level.Iteration)
+  public void boot() throws Exception {
+    this.methodEc = Fixture.methodEc(this.classEc);
+    this.cdiSupport.beforeTestExecution(this.methodEc);
+  }
+
+  @TearDown(Level.Iteration)
+  public void close() throws Exception {
+    this.methodEc.close();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    this.classEc.close();
+  }
+
+  @Benchmark
+  public boolean supportsParameter() {
+    return this.cdiSupport.supportsParameter(this.parameterContext, this.methodEc);
+  }
+
+  @Benchmark
+  public Object resolveParameter() {
+    return this.cdiSupport.resolveParameter(this.parameterContext, this.methodEc);
+  }
+
+}
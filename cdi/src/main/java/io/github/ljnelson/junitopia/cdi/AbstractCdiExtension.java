@@ -15,20 +15,34 @@ package io.github.ljnelson.junitopia.cdi;
 
 import java.lang.annotation.Annotation;
 
+import java.lang.invoke.VarHandle;
+
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import java.util.function.Function;
 
+import java.util.stream.Stream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.context.spi.CreationalContext;
+
 import jakarta.enterprise.inject.Default;
 import jakarta.enterprise.inject.Instance;
 
 import jakarta.enterprise.inject.se.SeContainer;
 
+import jakarta.enterprise.inject.spi.AnnotatedCallable;
 import jakarta.enterprise.inject.spi.AnnotatedType;
+import jakarta.enterprise.inject.spi.BeanAttributes;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.enterprise.inject.spi.InjectionPoint;
@@ -37,6 +51,11 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodHandles.privateLookupIn;
+
+import static java.util.stream.Collectors.toList;
+
 import static org.junit.platform.commons.support.HierarchyTraversalMode.BOTTOM_UP;
 
 import static org.junit.platform.commons.support.ReflectionSupport.streamFields;
@@ -45,6 +64,14 @@ class AbstractCdiExtension {
 
   static final Namespace NAMESPACE = Namespace.create((Object[])Instance.class.getPackage().getName().split("\\."));
 
+  // Which field, if any, of a given test class fallback(ExtensionContext) reads from.
+  private static final ClassValue<Optional<FallbackField>> FALLBACK_FIELDS = new ClassValue<>() {
+      @Override // ClassValue<Optional<FallbackField>>
+      protected final Optional<FallbackField> computeValue(final Class<?> c) {
+        return fallbackField(c);
+      }
+    };
+
   private final Function<? super ExtensionContext, ? extends Instance<Object>> fallback;
 
   AbstractCdiExtension() {
@@ -80,42 +107,134 @@ class AbstractCdiExtension {
       i.select(BeanManager.class).get();
   }
 
-  static final InjectionPoint ip(final Executable e, final int index, final BeanManager bm) {
+  static final AnnotatedCallable<?> ac(final Executable e, final BeanManager bm) {
     final AnnotatedType<?> t = bm.createAnnotatedType(e.getDeclaringClass());
     return (e instanceof Constructor<?> ? t.getConstructors() : t.getMethods()).stream()
       .filter(ac -> ac.getJavaMember().equals(e))
       .findAny()
-      .map(ac -> bm.createInjectionPoint(ac.getParameters().get(index)))
       .orElseThrow();
   }
 
+  static final InjectionPoint ip(final Executable e, final int index, final BeanManager bm) {
+    return bm.createInjectionPoint(ac(e, bm).getParameters().get(index));
+  }
+
+  static final InjectionPoints injectionPoints(final ExtensionContext ec, final BeanManager bm) {
+    return injectionPoints(ec.getStore(NAMESPACE), bm);
+  }
+
+  static final InjectionPoints injectionPoints(final Store store, final BeanManager bm) {
+    return cache(store, bm, InjectionPoints.class, InjectionPoints::new);
+  }
+
+  static final Resolutions resolutions(final ExtensionContext ec, final BeanManager bm) {
+    return resolutions(ec.getStore(NAMESPACE), bm);
+  }
+
+  static final Resolutions resolutions(final Store store, final BeanManager bm) {
+    return cache(store, bm, Resolutions.class, Resolutions::new);
+  }
+
+  static final TestClassDescriptors testClassDescriptors(final ExtensionContext ec, final BeanManager bm) {
+    return testClassDescriptors(ec.getStore(NAMESPACE), bm);
+  }
+
+  static final TestClassDescriptors testClassDescriptors(final Store store, final BeanManager bm) {
+    return cache(store, bm, TestClassDescriptors.class, TestClassDescriptors::new);
+  }
+
+  // Installs all per-BeanManager caches in the supplied Store, which should be the one that holds the SeContainer whose
+  // BeanManager is supplied, so that they live exactly as long as it does.
+  static final void caches(final Store store, final BeanManager bm) {
+    injectionPoints(store, bm);
+    resolutions(store, bm);
+    testClassDescriptors(store, bm);
+  }
+
+  // Returns the one CreationalContext holding every @Dependent object created on behalf of the supplied
+  // ExtensionContext (resolved parameters, injected fields), released once, when its Store is closed. Store lookups walk
+  // up the hierarchy, so the key names the ExtensionContext itself: a test method invocation must not borrow the one
+  // belonging to its test class.
+  @SuppressWarnings("unchecked")
+  static final CreationalContext<Object> creationalContext(final ExtensionContext ec, final BeanManager bm) {
+    final Store store = ec.getStore(NAMESPACE);
+    final Object key = List.of(CloseableCreationalContext.class, bm, ec.getUniqueId());
+    CloseableCreationalContext<Object> cc = store.get(key, CloseableCreationalContext.class);
+    if (cc == null) {
+      cc = store.getOrComputeIfAbsent(key,
+                                      __ -> new CloseableCreationalContext<>(bm.createCreationalContext(null)),
+                                      CloseableCreationalContext.class);
+    }
+    return cc.delegate();
+  }
+
+  // Returns what identifies the SeContainer the supplied BeanManager belongs to: its application context, of which there
+  // is exactly one per SeContainer. (See CacheKey for why the BeanManager itself will not do.)
+  static final Context applicationContext(final BeanManager bm) {
+    return bm.getContext(ApplicationScoped.class);
+  }
+
+  private static final <T> T cache(final Store store,
+                                   final BeanManager bm,
+                                   final Class<T> type,
+                                   final Function<? super BeanManager, ? extends T> f) {
+    // Lookups walk up the Store hierarchy, so a cache placed in the Store that holds the SeContainer will be found
+    // from any descendant ExtensionContext.
+    return store.getOrComputeIfAbsent(new CacheKey(type, bm), __ -> f.apply(bm), type);
+  }
+
   static final <T> Annotation[] qs(final Class<?> c, final BeanManager bm) {
-    final Collection<? extends Annotation> qualifiers = bm.createBeanAttributes(bm.createAnnotatedType(c)).getQualifiers();
-    return qualifiers.isEmpty() ? new Annotation[] { Default.Literal.INSTANCE } : qualifiers.toArray(new Annotation[0]);
+    final BeanAttributes<?> ba = bm.createBeanAttributes(bm.createAnnotatedType(c));
+    if (ba == null) {
+      // OpenWebBeans yields no BeanAttributes at all for a class without a bean defining annotation.
+      return qs(Stream.of(c.getAnnotations()).filter(a -> bm.isQualifier(a.annotationType())).collect(toList()));
+    }
+    return qs(ba.getQualifiers());
   }
 
   static final <T> Annotation[] qs(final Executable e, final int index, final BeanManager bm) {
-    final Collection<? extends Annotation> qualifiers = ip(e, index, bm).getQualifiers();
+    return qs(ip(e, index, bm).getQualifiers());
+  }
+
+  static final Annotation[] qs(final Collection<? extends Annotation> qualifiers) {
     return qualifiers.isEmpty() ? new Annotation[] { Default.Literal.INSTANCE } : qualifiers.toArray(Annotation[]::new);
   }
 
   @SuppressWarnings("unchecked")
   private static final Instance<Object> fallback(final ExtensionContext ec) {
-    return ec.getTestInstance()
-      .flatMap(i -> streamFields(i.getClass(), AbstractCdiExtension::isInstanceObjectOrBeanManager, BOTTOM_UP)
-               .findFirst()
-               .map(f -> {
-                   try {
-                     return f.trySetAccessible() ?
-                       Instance.class.isAssignableFrom(f.getType()) ?
-                       (Instance<Object>)f.get(i) :
-                       ((BeanManager)f.get(i)).createInstance() :
-                       null;
-                   } catch (final ReflectiveOperationException e) {
-                     throw new RuntimeException(e.getMessage(), e);
-                   }
-                 }))
-      .orElse(null);
+    final Object testInstance = ec.getTestInstance().orElse(null);
+    if (testInstance == null) {
+      return null;
+    }
+    final FallbackField f = FALLBACK_FIELDS.get(testInstance.getClass()).orElse(null);
+    if (f == null) {
+      return null;
+    }
+    final Object value = f.isStatic ? f.vh.get() : f.vh.get(testInstance);
+    if (f.isInstance || value == null) {
+      return (Instance<Object>)value;
+    }
+    final BeanManager bm = (BeanManager)value;
+    return (Instance<Object>)ec.getStore(NAMESPACE).getOrComputeIfAbsent(new CacheKey(Instance.class, bm),
+                                                                         __ -> bm.createInstance());
+  }
+
+  private static final Optional<FallbackField> fallbackField(final Class<?> testClass) {
+    return streamFields(testClass, AbstractCdiExtension::isInstanceObjectOrBeanManager, BOTTOM_UP)
+      .findFirst()
+      .flatMap(f -> {
+          final Class<?> declaringClass = f.getDeclaringClass();
+          try {
+            // privateLookupIn(Class, Lookup) requires that this module read the declaring class' module.
+            AbstractCdiExtension.class.getModule().addReads(declaringClass.getModule());
+            return Optional.of(new FallbackField(privateLookupIn(declaringClass, lookup()).unreflectVarHandle(f),
+                                                 Modifier.isStatic(f.getModifiers()),
+                                                 Instance.class.isAssignableFrom(f.getType())));
+          } catch (final IllegalAccessException e) {
+            // The field's package is not open to this module; the equivalent of trySetAccessible() returning false.
+            return Optional.empty();
+          }
+        });
   }
 
   private static final boolean isInstanceObjectOrBeanManager(final Field f) {
@@ -125,4 +244,62 @@ class AbstractCdiExtension {
       BeanManager.class.isAssignableFrom(fieldType);
   }
 
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // The field, if any, of a test class that supplies an Instance<Object> or a BeanManager when nothing else does.
+  private static final class FallbackField {
+
+    private final VarHandle vh;
+
+    private final boolean isStatic;
+
+    private final boolean isInstance;
+
+    private FallbackField(final VarHandle vh, final boolean isStatic, final boolean isInstance) {
+      super();
+      this.vh = vh;
+      this.isStatic = isStatic;
+      this.isInstance = isInstance;
+    }
+
+  }
+
+  // Identifies a per-SeContainer cache. BeanManagers themselves make poor keys: Weld hands out a new one each time it is
+  // asked, and considers those of different SeContainers equal, so the cache of an SeContainer in an enclosing Store
+  // would be found instead of one's own. There is exactly one application context per SeContainer, though.
+  private static final class CacheKey {
+
+    private final Class<?> type;
+
+    private final Context applicationContext;
+
+    private CacheKey(final Class<?> type, final BeanManager bm) {
+      super();
+      this.type = type;
+      this.applicationContext = applicationContext(bm);
+    }
+
+    @Override // Object
+    public final int hashCode() {
+      return 31 * this.type.hashCode() + System.identityHashCode(this.applicationContext);
+    }
+
+    @Override // Object
+    public final boolean equals(final Object other) {
+      if (other == this) {
+        return true;
+      } else if (other != null && other.getClass() == this.getClass()) {
+        final CacheKey her = (CacheKey)other;
+        return this.type == her.type && this.applicationContext == her.applicationContext;
+      } else {
+        return false;
+      }
+    }
+
+  }
+
 }
@@ -0,0 +1,154 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+// Limits how many SeContainers may be booting, and how many may be alive, at once, so that running many test classes
+// in parallel cannot exhaust the heap or the CPUs. Waiting tests are admitted in the order they arrived. Shared
+// SeContainers are not subject to these limits; SharedSeContainers already bounds how many of them there are.
+//
+// Note that a live permit is held until its SeContainer is closed, so a limit on live SeContainers lower than the
+// number a test needs alive at once (an @Nested test class's, say, alongside its enclosing test class's) cannot be
+// satisfied. Rather than hang, such a test fails once it has waited too long, naming the test classes whose
+// SeContainers were alive.
+final class Admission {
+
+  private static final Logger LOGGER = getLogger(Admission.class.getName());
+
+  private final int maxLive;
+
+  private final int maxBooting;
+
+  // 0 if waiting never times out
+  private final long timeoutSeconds;
+
+  // null if there is no limit
+  private final Semaphore live;
+
+  // null if there is no limit
+  private final Semaphore booting;
+
+  // The Permits holding live permits.
+  private final Set<Permit> holders;
+
+  Admission(final int maxLive, final int maxBooting, final long timeoutSeconds) {
+    super();
+    this.maxLive = maxLive;
+    this.maxBooting = maxBooting;
+    this.timeoutSeconds = timeoutSeconds;
+    this.live = maxLive > 0 ? new Semaphore(maxLive, true) : null;
+    this.booting = maxBooting > 0 ? new Semaphore(maxBooting, true) : null;
+    this.holders = ConcurrentHashMap.newKeySet();
+  }
+
+  // Blocks until an SeContainer may be booted for the supplied holder (a test class name, typically), and returns the
+  // Permit to release once it has booted and once it has been closed.
+  final Permit admit(final String holder) {
+    final Permit permit = new Permit(holder);
+    if (this.live == null && this.booting == null) {
+      return permit;
+    }
+    final long start = System.nanoTime();
+    try {
+      if (this.live != null) {
+        this.acquire(this.live, this.maxLive, "alive", holder);
+        this.holders.add(permit);
+      }
+      if (this.booting != null) {
+        try {
+          this.acquire(this.booting, this.maxBooting, "booting", holder);
+        } catch (final InterruptedException | RuntimeException e) {
+          if (this.live != null) {
+            this.holders.remove(permit);
+            this.live.release();
+          }
+          throw e;
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+    final long nanos = System.nanoTime() - start;
+    Metrics.INSTANCE.admitted(nanos);
+    if (LOGGER.isLoggable(DEBUG)) {
+      LOGGER.log(DEBUG, "Admitted an SeContainer for " + holder + " after waiting " + nanos + " ns");
+    }
+    return permit;
+  }
+
+  private final void acquire(final Semaphore s, final int limit, final String state, final String holder)
+    throws InterruptedException {
+    if (this.timeoutSeconds <= 0L) {
+      s.acquire();
+    } else if (!s.tryAcquire(this.timeoutSeconds, SECONDS)) {
+      throw new IllegalStateException("Waited " + this.timeoutSeconds + " s to admit an SeContainer for " + holder +
+                                      ", but at most " + limit + " may be " + state + " at once; SeContainers alive: " +
+                                      this.holders);
+    }
+  }
+
+  final class Permit {
+
+    private final AtomicBoolean booting;
+
+    private final AtomicBoolean live;
+
+    private final String holder;
+
+    private Permit(final String holder) {
+      super();
+      this.holder = holder;
+      this.booting = new AtomicBoolean(true);
+      this.live = new AtomicBoolean(true);
+    }
+
+    // Called once the SeContainer has booted (or failed to).
+    final void booted() {
+      if (this.booting.compareAndSet(true, false) && Admission.this.booting != null) {
+        Admission.this.booting.release();
+      }
+    }
+
+    // Called once the SeContainer has been closed (or was never created).
+    final void close() {
+      this.booted();
+      if (this.live.compareAndSet(true, false) && Admission.this.live != null) {
+        Admission.this.holders.remove(this);
+        Admission.this.live.release();
+      }
+    }
+
+    @Override // Object
+    public final String toString() {
+      return this.holder;
+    }
+
+  }
+
+}
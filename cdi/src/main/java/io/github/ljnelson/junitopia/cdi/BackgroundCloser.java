@@ -0,0 +1,63 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.Objects;
+import java.util.Queue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+// Closes SeContainers off of the test thread, on a bounded number of background threads. Meant to live in the root
+// ExtensionContext's Store: closing it waits for every pending close, and then rethrows whatever those closes threw so
+// that JUnit reports it.
+final class BackgroundCloser implements CloseableResource {
+
+  private final BackgroundExecutor executor;
+
+  private final Queue<Throwable> failures;
+
+  BackgroundCloser(final int threads) {
+    super();
+    // A full queue makes the test thread close its own SeContainer, which keeps pending closes (and the memory they
+    // hold on to) bounded.
+    this.executor = new BackgroundExecutor("junitopia-cdi-close", threads, threads * 4);
+    this.failures = new ConcurrentLinkedQueue<>();
+  }
+
+  final void close(final AutoCloseable closeable) {
+    Objects.requireNonNull(closeable, "closeable");
+    this.executor.execute(() -> {
+        try {
+          closeable.close();
+        } catch (final Exception | Error e) {
+          this.failures.add(e);
+        }
+      });
+  }
+
+  @Override // CloseableResource
+  public final void close() throws Throwable {
+    this.executor.close();
+    Throwable t = this.failures.poll();
+    if (t != null) {
+      for (Throwable e = this.failures.poll(); e != null; e = this.failures.poll()) {
+        t.addSuppressed(e);
+      }
+      throw t;
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.util.Objects;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+// An Executor of daemon threads for SeContainer work taken off of the test thread. Meant to live in the root
+// ExtensionContext's Store; closing it waits for work already handed to it to finish.
+final class BackgroundExecutor implements CloseableResource, Executor {
+
+  private static final Logger LOGGER = getLogger(BackgroundExecutor.class.getName());
+
+  private final ThreadPoolExecutor tpe;
+
+  BackgroundExecutor(final String name, final int threads) {
+    this(name, threads, 0);
+  }
+
+  // If capacity is positive, at most that many tasks may wait for a thread; beyond that, the thread handing off a task
+  // runs it itself.
+  BackgroundExecutor(final String name, final int threads, final int capacity) {
+    super();
+    Objects.requireNonNull(name, "name");
+    final AtomicInteger n = new AtomicInteger();
+    final ThreadFactory tf = r -> {
+      final Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+    this.tpe =
+      new ThreadPoolExecutor(threads,
+                             threads,
+                             10L,
+                             SECONDS,
+                             capacity > 0 ? new ArrayBlockingQueue<>(capacity) : new LinkedBlockingQueue<>(),
+                             tf,
+                             new CallerRunsPolicy());
+    this.tpe.allowCoreThreadTimeOut(true);
+  }
+
+  @Override // Executor
+  public final void execute(final Runnable r) {
+    this.tpe.execute(r);
+  }
+
+  @Override // CloseableResource
+  public final void close() throws InterruptedException {
+    this.tpe.shutdown();
+    while (!this.tpe.awaitTermination(10L, SECONDS)) {
+      if (LOGGER.isLoggable(DEBUG)) {
+        LOGGER.log(DEBUG, "Waiting for " + this.tpe);
+      }
+    }
+  }
+
+}
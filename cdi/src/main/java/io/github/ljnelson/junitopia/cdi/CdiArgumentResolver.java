@@ -15,8 +15,10 @@ package io.github.ljnelson.junitopia.cdi;
 
 import java.lang.System.Logger;
 
+import java.lang.reflect.Executable;
 import java.lang.reflect.Parameter;
 
+import java.util.Optional;
 import java.util.Set;
 
 import java.util.function.Function;
@@ -25,6 +27,7 @@ import jakarta.enterprise.context.spi.CreationalContext;
 
 import jakarta.enterprise.inject.Instance;
 
+import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.InjectionPoint;
 
@@ -44,7 +47,7 @@ public class CdiArgumentResolver extends AbstractCdiExtension implements Paramet
 
   private static final Logger LOGGER = getLogger(CdiArgumentResolver.class.getName());
   
-  private static final Set<Class<?>> SPECIAL_CLASSES = Set.of(RepetitionInfo.class, TestInfo.class, TestReporter.class);
+  static final Set<Class<?>> SPECIAL_CLASSES = Set.of(RepetitionInfo.class, TestInfo.class, TestReporter.class);
   
   public CdiArgumentResolver() {
     super();
@@ -86,21 +89,41 @@ public class CdiArgumentResolver extends AbstractCdiExtension implements Paramet
       }
       return false;
     }
-    return
-      bm.resolve(bm.getBeans(p.getParameterizedType(),
-                             qs(p.getDeclaringExecutable(), parameterContext.getIndex(), bm))) != null;
+    // The Resolutions cache remembers unsatisfied resolutions too, which matters because JUnit asks every
+    // ParameterResolver about every parameter.
+    final boolean hit = this.resolution(parameterContext, extensionContext, bm).isPresent();
+    Metrics.INSTANCE.resolved(hit);
+    return hit;
   }
 
   @Override
   public Object resolveParameter(final ParameterContext parameterContext,
                                  final ExtensionContext extensionContext) {
     final BeanManager bm = bm(extensionContext);
-    final InjectionPoint ip = ip(parameterContext.getParameter().getDeclaringExecutable(),
-                                 parameterContext.getIndex(),
-                                 bm);
-    final CreationalContext<Object> cc = new CloseableCreationalContext<>(bm.createCreationalContext(null));
-    extensionContext.getStore(NAMESPACE).put(cc, cc); // will auto-release when test is over
-    return bm.getInjectableReference(ip, cc);
+    final Executable e = parameterContext.getParameter().getDeclaringExecutable();
+    final int index = parameterContext.getIndex();
+    final InjectionPoints ips = injectionPoints(extensionContext, bm);
+    final InjectionPoint ip = ips.injectionPoint(e, index);
+    final CreationalContext<Object> cc = creationalContext(extensionContext, bm); // released when the test is over
+    // Reuse the resolution supportsParameter(ParameterContext, ExtensionContext) performed when that is safe to do. A
+    // client proxy is the same no matter the injection point, but a @Dependent bean (including built-in beans like
+    // Instance and Event) may need the InjectionPoint itself, so let getInjectableReference handle those.
+    final Bean<?> bean = this.resolution(parameterContext, extensionContext, bm).orElse(null);
+    return
+      bean == null || !bm.isNormalScope(bean.getScope()) ?
+      bm.getInjectableReference(ip, cc) :
+      bm.getReference(bean, ip.getType(), cc);
+  }
+
+  // Returns the Bean that typesafe resolution selects for the supplied parameter, or an empty Optional if there is none.
+  Optional<Bean<?>> resolution(final ParameterContext parameterContext,
+                               final ExtensionContext extensionContext,
+                               final BeanManager bm) {
+    final Parameter p = parameterContext.getParameter();
+    return
+      resolutions(extensionContext, bm)
+      .resolve(p.getParameterizedType(),
+               injectionPoints(extensionContext, bm).qualifiers(p.getDeclaringExecutable(), parameterContext.getIndex()));
   }
 
 }
@@ -0,0 +1,229 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+
+import java.lang.System.Logger;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+
+import java.net.URL;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.WeakHashMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// The compile-time index written by the junitopia-cdi-index annotation processor, merged across every copy of it that a
+// ClassLoader can see. An empty index is used when the processor was not run.
+final class CdiIndex {
+
+  static final String RESOURCE = "META-INF/junitopia/cdi.index";
+
+  private static final Logger LOGGER = getLogger(CdiIndex.class.getName());
+
+  private static final CdiIndex EMPTY = new CdiIndex(null, List.of(), Set.of(), Set.of());
+
+  // @GuardedBy("INDEXES")
+  private static final Map<ClassLoader, CdiIndex> INDEXES = new WeakHashMap<>();
+
+  private static final ClassValue<CdiIndex> CLASS_INDEXES = new ClassValue<>() {
+      @Override
+      protected final CdiIndex computeValue(final Class<?> c) {
+        final ClassLoader cl = c.getClassLoader();
+        if (cl == null) {
+          return EMPTY;
+        }
+        synchronized (INDEXES) {
+          return INDEXES.computeIfAbsent(cl, CdiIndex::load);
+        }
+      }
+    };
+
+  private final ClassLoader cl;
+
+  private final List<String> beanClassNames;
+
+  private final Set<String> testClassNames;
+
+  // "binaryName#name(parameterTypeNames) index" for every indexed parameter with no qualifiers.
+  private final Set<String> unqualifiedParameters;
+
+  private final ConcurrentMap<Executable, boolean[]> unqualified;
+
+  // @GuardedBy("this")
+  private Class<?>[] beanClasses;
+
+  private CdiIndex(final ClassLoader cl,
+                   final List<String> beanClassNames,
+                   final Set<String> testClassNames,
+                   final Set<String> unqualifiedParameters) {
+    super();
+    this.cl = cl;
+    this.beanClassNames = beanClassNames;
+    this.testClassNames = testClassNames;
+    this.unqualifiedParameters = unqualifiedParameters;
+    this.unqualified = new ConcurrentHashMap<>();
+  }
+
+  // Returns the index visible to the ClassLoader that loaded the supplied Class.
+  static final CdiIndex of(final Class<?> c) {
+    return CLASS_INDEXES.get(c);
+  }
+
+  final boolean isEmpty() {
+    return this.beanClassNames.isEmpty() && this.unqualifiedParameters.isEmpty();
+  }
+
+  // Returns the indexed bean classes that belong in an SeContainer for the supplied test class. A test class, and any
+  // beans nested in it, are treated as fixtures private to that test class (and its @Nested classes).
+  final Class<?>[] beanClasses(final Class<?> testClass) {
+    final String testClassName = testClass.getName();
+    final List<Class<?>> beanClasses = new ArrayList<>();
+    for (final Class<?> beanClass : this.beanClasses()) {
+      final String owner = this.owner(beanClass.getName());
+      if (owner == null || testClassName.equals(owner) || testClassName.startsWith(owner + "$")) {
+        beanClasses.add(beanClass);
+      }
+    }
+    return beanClasses.toArray(new Class<?>[0]);
+  }
+
+  // Returns the name of the indexed test class that is, or that encloses, the class with the supplied name, or null.
+  private final String owner(String className) {
+    while (!this.testClassNames.contains(className)) {
+      final int i = className.lastIndexOf('$');
+      if (i < 0) {
+        return null;
+      }
+      className = className.substring(0, i);
+    }
+    return className;
+  }
+
+  // Returns the indexed bean classes that could be loaded; classes that have since gone missing (a stale index) are
+  // skipped.
+  private final synchronized Class<?>[] beanClasses() {
+    if (this.beanClasses == null) {
+      final List<Class<?>> beanClasses = new ArrayList<>(this.beanClassNames.size());
+      for (final String name : this.beanClassNames) {
+        try {
+          beanClasses.add(Class.forName(name, false, this.cl));
+        } catch (final ClassNotFoundException | LinkageError e) {
+          if (LOGGER.isLoggable(DEBUG)) {
+            LOGGER.log(DEBUG, "Skipping indexed bean class " + name, e);
+          }
+        }
+      }
+      this.beanClasses = beanClasses.toArray(new Class<?>[0]);
+    }
+    return this.beanClasses;
+  }
+
+  // Returns true if and only if the index records that the parameter of the supplied Executable at the supplied index
+  // bears no qualifiers. A false return means only that the index cannot say.
+  final boolean unqualified(final Executable e, final int index) {
+    if (this.unqualifiedParameters.isEmpty()) {
+      return false;
+    }
+    final boolean[] unqualified = this.unqualified.computeIfAbsent(e, this::computeUnqualified);
+    return index >= 0 && index < unqualified.length && unqualified[index];
+  }
+
+  private final boolean[] computeUnqualified(final Executable e) {
+    final Class<?>[] parameterTypes = e.getParameterTypes();
+    final StringJoiner types = new StringJoiner(",", "(", ")");
+    for (final Class<?> parameterType : parameterTypes) {
+      types.add(parameterType.getTypeName());
+    }
+    final String key =
+      e.getDeclaringClass().getName() + "#" + (e instanceof Constructor ? "<init>" : e.getName()) + types + " ";
+    final boolean[] unqualified = new boolean[parameterTypes.length];
+    for (int i = 0; i < unqualified.length; i++) {
+      unqualified[i] = this.unqualifiedParameters.contains(key + i);
+    }
+    return unqualified;
+  }
+
+  private static final CdiIndex load(final ClassLoader cl) {
+    final Set<String> beanClassNames = new LinkedHashSet<>(); // the same class may be indexed twice
+    final Set<String> testClassNames = new HashSet<>();
+    final Set<String> unqualifiedParameters = new HashSet<>();
+    try {
+      final Enumeration<URL> urls = cl.getResources(RESOURCE);
+      while (urls.hasMoreElements()) {
+        final URL url = urls.nextElement();
+        if (LOGGER.isLoggable(DEBUG)) {
+          LOGGER.log(DEBUG, "Reading " + url);
+        }
+        try (final BufferedReader r = new BufferedReader(new InputStreamReader(url.openStream(), UTF_8))) {
+          String line;
+          while ((line = r.readLine()) != null) {
+            final String[] fields = line.strip().split(" ");
+            switch (fields[0]) {
+            case "bean":
+              if (fields.length == 2) {
+                beanClassNames.add(fields[1]);
+              }
+              break;
+            case "test":
+              if (fields.length == 2) {
+                testClassNames.add(fields[1]);
+              }
+              break;
+            case "parameter":
+              if (fields.length == 4 && fields[3].equals("-")) {
+                unqualifiedParameters.add(fields[1] + " " + fields[2]);
+              }
+              break;
+            default:
+              // Comments, blank lines, and anything a later version of the processor might write.
+              break;
+            }
+          }
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+    if (beanClassNames.isEmpty() && unqualifiedParameters.isEmpty()) {
+      return EMPTY;
+    }
+    return new CdiIndex(cl,
+                        List.copyOf(beanClassNames),
+                        Collections.unmodifiableSet(testClassNames),
+                        Collections.unmodifiableSet(unqualifiedParameters));
+  }
+
+}
@@ -13,33 +13,47 @@
  */
 package io.github.ljnelson.junitopia.cdi;
 
+import java.io.IOException;
+
 import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
+import java.lang.invoke.MethodHandle;
+
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinWorkerThread;
+
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import jakarta.enterprise.context.Dependent;
 
 import jakarta.enterprise.context.spi.AlterableContext;
+import jakarta.enterprise.context.spi.CreationalContext;
 
 import jakarta.enterprise.event.Observes;
 
 import jakarta.enterprise.inject.Instance;
-import jakarta.enterprise.inject.UnsatisfiedResolutionException;
 
 import jakarta.enterprise.inject.literal.InjectLiteral;
 
@@ -50,8 +64,10 @@ import jakarta.enterprise.inject.spi.Annotated;
 import jakarta.enterprise.inject.spi.AnnotatedConstructor;
 import jakarta.enterprise.inject.spi.AnnotatedType;
 import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
+import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.InjectionTarget;
 import jakarta.enterprise.inject.spi.ProcessAnnotatedType;
 import jakarta.enterprise.inject.spi.ProcessBeanAttributes;
 import jakarta.enterprise.inject.spi.WithAnnotations;
@@ -60,14 +76,14 @@ import jakarta.enterprise.inject.spi.configurator.AnnotatedConstructorConfigurat
 
 import jakarta.inject.Inject;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
-import org.junit.jupiter.api.TestReporter;
 
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExecutableInvoker;
-import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.InvocationInterceptor.Invocation;
@@ -82,17 +98,77 @@ import org.junit.jupiter.api.extension.TestInstantiationException;
 import static java.lang.System.getLogger;
 
 import static java.lang.System.Logger.Level.DEBUG;
-import static java.lang.System.Logger.Level.INFO;
 import static java.lang.System.Logger.Level.TRACE;
 import static java.lang.System.Logger.Level.WARNING;
 
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
 
+import static org.junit.platform.commons.support.AnnotationSupport.findAnnotatedMethods;
+
+import static org.junit.platform.commons.support.HierarchyTraversalMode.TOP_DOWN;
+
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.AMBIGUOUS_FALLBACK;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.BOOT_DEFERRED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.BOOT_STARTED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.BOOTED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.CONSTRUCTOR_CHOSEN;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.CONSTRUCTOR_FAILED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.CONTEXTUAL_INVOCATION;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.CONTEXTUAL_TEST_INSTANCE;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.INACCESSIBLE_FALLBACK;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.SHARED_LEASED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEMPLATE_RESOLUTION_RECORDED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.UNSATISFIED_FALLBACK;
+
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.container;
+
 public class CdiSupport extends CdiArgumentResolver
-  implements BeforeTestExecutionCallback, InvocationInterceptor, TestInstanceFactory {
+  implements AfterTestExecutionCallback,
+             BeforeEachCallback,
+             BeforeTestExecutionCallback,
+             InvocationInterceptor,
+             TestInstanceFactory {
 
   private static final Logger LOGGER = getLogger(CdiSupport.class.getName());
 
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  // Whether a given class, or any of its superclasses, has @Inject-annotated constructors, fields or methods.
+  private static final ClassValue<Boolean> INJECTING = new ClassValue<>() {
+      @Override // ClassValue<Boolean>
+      protected final Boolean computeValue(final Class<?> c) {
+        for (Class<?> x = c; x != null && x != Object.class; x = x.getSuperclass()) {
+          if (injecting(x.getDeclaredConstructors()) ||
+              injecting(x.getDeclaredFields()) ||
+              injecting(x.getDeclaredMethods())) {
+            return Boolean.TRUE;
+          }
+        }
+        return Boolean.FALSE;
+      }
+    };
+
+  // Whether any @BeforeEach method that runs for a given test class, including those of enclosing classes, takes an
+  // SeContainerInitializer, i.e. whether the SeContainerInitializer may still be configured after beforeEach.
+  private static final ClassValue<Boolean> CONFIGURED_BEFORE_EACH = new ClassValue<>() {
+      @Override // ClassValue<Boolean>
+      protected final Boolean computeValue(final Class<?> c) {
+        for (Class<?> x = c; x != null; x = x.getEnclosingClass()) {
+          for (final Method m : findAnnotatedMethods(x, BeforeEach.class, TOP_DOWN)) {
+            if (Arrays.asList(m.getParameterTypes()).contains(SeContainerInitializer.class)) {
+              return Boolean.TRUE;
+            }
+          }
+        }
+        return Boolean.FALSE;
+      }
+    };
+
+  // (Registers the CdiSupportMXBean as soon as CdiSupport is in use.)
+  private static final Metrics METRICS = Metrics.INSTANCE;
+
+  private static final FlightRecorder RECORDER = FlightRecorder.INSTANCE;
+
   // Must create a new one each time or undefined behavior results
   private final Supplier<? extends SeContainerInitializer> s;
 
@@ -118,34 +194,62 @@ public class CdiSupport extends CdiArgumentResolver
                                          final ExtensionContext extensionContext) {
     final Class<?> testClass = factoryContext.getTestClass();
 
-    // First see if there's a CDI installation already set up. If so, ask it to get a contextual reference. This will
-    // use the @Inject-annotated constructor if one exists. If one does not, that's a problem, so let it fail.
+    // First see if there's a CDI installation already set up. If so, and if it can supply exactly one contextual
+    // reference, ask it for one. This will use the @Inject-annotated constructor if one exists.
     final Instance<Object> i = this.i(extensionContext);
+    final BeanManager bm = i == null ? null : bm(i);
     if (i != null) {
+      final TestClassDescriptor d = testClassDescriptors(extensionContext, bm).descriptor(testClass);
+      if (!d.unsatisfied() && !d.ambiguous()) {
+        RECORDER.record(CONTEXTUAL_TEST_INSTANCE, testClass, null, container(bm));
+        return d.reference(extensionContext);
+      }
+    }
+
+    // Otherwise use a constructor and JUnit's native argument resolution. The first constructor that works is
+    // remembered for the rest of the run, so normally only the first instance of a test class pays for the search.
+    final ExecutableInvoker invoker = extensionContext.getExecutableInvoker();
+    final Object outerInstance = factoryContext.getOuterInstance().orElse(null);
+    final Store store = extensionContext.getRoot().getStore(NAMESPACE);
+    final Object key = List.of(Constructor.class, testClass);
+    final Constructor<?> cached = store.get(key, Constructor.class);
+    TestInstantiationException t = null;
+    if (cached != null) {
       try {
-        return i.select(testClass, qs(testClass, bm(i))).get();
-      } catch (final IllegalStateException | UnsatisfiedResolutionException e) {
+        return invoker.invoke(cached, outerInstance);
+      } catch (final ParameterResolutionException e) {
+        // Whatever resolved its parameters before (a CDI installation, some other ParameterResolver) may not be in
+        // effect for this instance, so forget it and search the other constructors.
+        RECORDER.record(CONSTRUCTOR_FAILED, testClass, cached, container(bm));
         if (LOGGER.isLoggable(DEBUG)) {
           LOGGER.log(DEBUG, e.getMessage(), e);
         }
+        store.remove(key, Constructor.class);
+        t = new TestInstantiationException(e.getMessage(), e);
       }
     }
 
-    // Otherwise proceed through the constructors, ordered from most number of parameters to least, then by declaration
-    // order, and invoke each one, stopping once a constructor returns successfully. JUnit's native argument resolution
-    // will be used.
-    final List<Constructor<?>> cs = Arrays.asList(testClass.getDeclaredConstructors());
-    Collections.sort(cs, Comparator.<Constructor<?>>comparingInt(Constructor::getParameterCount).reversed());
-    final ExecutableInvoker invoker = extensionContext.getExecutableInvoker();
-    final Object outerInstance = factoryContext.getOuterInstance().orElse(null);
-    TestInstantiationException t = null;
+    // Try the constructors whose parameters are all known to be resolvable first, and the rest (whose parameters some
+    // other ParameterResolver may still resolve) after them, each group ordered from most number of parameters to
+    // least, then by declaration order.
+    final List<Constructor<?>> cs = new ArrayList<>();
+    final List<Constructor<?>> rest = new ArrayList<>();
+    for (final Constructor<?> c : TestClassDescriptor.constructors(testClass)) {
+      if (c.equals(cached)) {
+        continue;
+      }
+      (resolvable(c, outerInstance != null, extensionContext, bm) ? cs : rest).add(c);
+    }
+    cs.addAll(rest);
     for (final Constructor<?> c : cs) {
       if (LOGGER.isLoggable(DEBUG)) {
         LOGGER.log(DEBUG, "Invoking " + c);
       }
+      final Object testInstance;
       try {
-        return invoker.invoke(c, outerInstance);
+        testInstance = invoker.invoke(c, outerInstance);
       } catch (final ParameterResolutionException e) {
+        RECORDER.record(CONSTRUCTOR_FAILED, testClass, c, container(bm));
         if (LOGGER.isLoggable(DEBUG)) {
           LOGGER.log(DEBUG, e.getMessage(), e);
         }
@@ -154,23 +258,128 @@ public class CdiSupport extends CdiArgumentResolver
         } else {
           t.addSuppressed(e);
         }
+        continue;
       }
+      RECORDER.record(CONSTRUCTOR_CHOSEN, testClass, c, container(bm));
+      store.put(key, c);
+      return testInstance;
     }
     throw t;
   }
 
+  // Whether every parameter of the supplied Constructor is known to be resolvable, either by JUnit itself or, if there is
+  // a BeanManager, by CDI. A false return means only that some other ParameterResolver would have to resolve one.
+  private static final boolean resolvable(final Constructor<?> c,
+                                          final boolean inner,
+                                          final ExtensionContext ec,
+                                          final BeanManager bm) {
+    final Parameter[] ps = c.getParameters();
+    // (The enclosing instance of an inner class is supplied by JUnit, not resolved.)
+    for (int index = inner ? 1 : 0; index < ps.length; index++) {
+      final Parameter p = ps[index];
+      if (SPECIAL_CLASSES.contains(p.getType())) {
+        continue;
+      }
+      if (bm == null ||
+          resolutions(ec, bm).resolve(p.getParameterizedType(), injectionPoints(ec, bm).qualifiers(c, index)).isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override // BeforeEachCallback
+  public final void beforeEach(final ExtensionContext methodLevelEc) {
+    // If an SeContainer already exists (PER_CLASS SeContainer lifecycle, or a shared SeContainer this test class has
+    // already leased), bind this invocation's ExtensionContext to this thread now so that @TestScoped beans used by
+    // @BeforeEach methods belong to this invocation. Otherwise this happens in beforeTestExecution.
+    final Store store = findStoreForSeContainer(methodLevelEc);
+    bind(methodLevelEc, store);
+    if (!shared(methodLevelEc) && background(methodLevelEc) && store.get(Instance.class) == null) {
+      // The boot can overlap @BeforeEach methods (and anything else that happens before beforeTestExecution joins it),
+      // but not @BeforeAll methods, since they may configure the SeContainerInitializer.
+      if (CONFIGURED_BEFORE_EACH.get(methodLevelEc.getRequiredTestClass())) {
+        // So may @BeforeEach methods here; beforeTestExecution will boot the SeContainer once they are done.
+        if (LOGGER.isLoggable(DEBUG)) {
+          LOGGER.log(DEBUG, "Not booting SeContainer in the background because a @BeforeEach method configures it");
+        }
+      } else {
+        store.getOrComputeIfAbsent("SeContainerCloser", n -> seContainerCloser(methodLevelEc, store));
+        store.getOrComputeIfAbsent(CompletableFuture.class, __ -> boot(methodLevelEc, store), CompletableFuture.class);
+      }
+    }
+  }
+
   @Override // BeforeTestExecutionCallback
-  @SuppressWarnings("unchecked")
   public final void beforeTestExecution(final ExtensionContext methodLevelEc) throws Exception {
     // Enforce preconditions
     methodLevelEc.getRequiredTestClass();
     methodLevelEc.getRequiredTestInstance();
 
     final Store store = findStoreForSeContainer(methodLevelEc);
+    if (lazy(methodLevelEc) && store.get(Instance.class) == null && !needsSeContainer(methodLevelEc)) {
+      // Nothing about the test class or this test method calls for CDI; boot only if something asks for it.
+      RECORDER.record(BOOT_DEFERRED, methodLevelEc.getRequiredTestClass(), methodLevelEc.getRequiredTestMethod(), 0);
+      if (LOGGER.isLoggable(DEBUG)) {
+        LOGGER.log(DEBUG, "Deferring SeContainer creation for " + methodLevelEc.getRequiredTestMethod());
+      }
+      return;
+    }
+    this.instance(methodLevelEc, store);
+  }
+
+  @Override // AfterTestExecutionCallback
+  public final void afterTestExecution(final ExtensionContext methodLevelEc) throws IOException {
+    if (methodLevelEc.getExecutionException().isEmpty()) {
+      return;
+    }
+    // The test failed, which is the only time the flight recorder's contents are worth formatting.
+    final Class<?> testClass = methodLevelEc.getRequiredTestClass();
+    final List<String> events = RECORDER.dump(testClass);
+    if (events.isEmpty()) {
+      return;
+    }
+    methodLevelEc.publishReportEntry(FlightRecorder.class.getName(), String.join(System.lineSeparator(), events));
+    final String directory =
+      methodLevelEc.getConfigurationParameter(FlightRecorder.class.getName() + ".directory").orElse(null);
+    if (directory != null) {
+      final Path d = Files.createDirectories(Paths.get(directory));
+      // The unique ID, unlike the test method, tells apart the invocations of a test template.
+      Files.write(d.resolve(methodLevelEc.getUniqueId().replaceAll("[^A-Za-z0-9._-]", "_") + ".txt"), events);
+    }
+  }
+
+  // Returns the Instance<Object> for the supplied method-level ExtensionContext, creating (or leasing) an SeContainer if
+  // necessary.
+  @SuppressWarnings("unchecked")
+  private final Instance<Object> instance(final ExtensionContext methodLevelEc, final Store store) {
+    if (shared(methodLevelEc)) {
+      final SharedSeContainers.Lease lease =
+        store.getOrComputeIfAbsent(SharedSeContainers.Lease.class,
+                                   __ -> lease(methodLevelEc, store),
+                                   SharedSeContainers.Lease.class);
+      lease.accept(methodLevelEc);
+      final SeContainer sec = (SeContainer)store.getOrComputeIfAbsent(Instance.class, __ -> lease.container());
+      caches(store, sec.getBeanManager());
+      RECORDER.record(SHARED_LEASED,
+                      methodLevelEc.getRequiredTestClass(),
+                      methodLevelEc.getRequiredTestMethod(),
+                      container(sec.getBeanManager()));
+      if (LOGGER.isLoggable(DEBUG)) {
+        LOGGER.log(DEBUG, "Using shared SeContainer: " + sec);
+      }
+      // The test class is not a bean in a shared SeContainer, so perform non-contextual injection on the test instance
+      // JUnit created.
+      inject(methodLevelEc, sec.getBeanManager());
+      return sec;
+    }
+    // Each in-flight invocation, possibly one of several running concurrently, sees its own ExtensionContext.
+    methodLevelExtensionContextSupplier(store).accept(methodLevelEc);
     Instance<Object> i = (Instance<Object>)store.get(Instance.class);
     if (i == null) {
-      store.getOrComputeIfAbsent("SeContainerCloser", n -> new SeContainerCloser(() -> store.get(Instance.class)));
+      store.getOrComputeIfAbsent("SeContainerCloser", n -> seContainerCloser(methodLevelEc, store));
       i = (Instance<Object>)store.getOrComputeIfAbsent(Instance.class, __ -> newSeContainer(methodLevelEc, store));
+      caches(store, bm(i)); // so that they live exactly as long as the SeContainer
       if (LOGGER.isLoggable(DEBUG)) {
         LOGGER.log(DEBUG, "Using new Instance<Object>: " + i);
       }
@@ -179,18 +388,139 @@ public class CdiSupport extends CdiArgumentResolver
         LOGGER.log(DEBUG, "Preexisting Instance<Object> found: " + i);
       }
     }
+    return i;
   }
 
   private final SeContainer newSeContainer(final ExtensionContext methodLevelEc, final Store store) {
     // Enforce preconditions
     methodLevelEc.getRequiredTestInstance();
 
-    methodLevelExtensionContextSupplier(store).accept(methodLevelEc);
-    final SeContainerInitializer sci = seContainerInitializer(methodLevelEc.getRequiredTestClass(), store);
+    final Class<?> testClass = methodLevelEc.getRequiredTestClass();
+    final Method testMethod = methodLevelEc.getRequiredTestMethod();
+    RECORDER.record(BOOT_STARTED, testClass, testMethod, 0);
+    final CompletableFuture<?> boot = store.get(CompletableFuture.class, CompletableFuture.class);
+    final SeContainer sec;
+    if (boot == null) {
+      final Admission.Permit permit = admit(methodLevelEc, store);
+      try {
+        sec = initialize(methodLevelEc,
+                         methodLevelExtensionContextSupplier(store),
+                         seContainerInitializer(methodLevelEc, store, false));
+      } finally {
+        permit.booted();
+      }
+    } else {
+      sec = join(boot);
+    }
+    RECORDER.record(BOOTED, testClass, testMethod, container(sec.getBeanManager()));
+    return sec;
+  }
+
+  private final CompletableFuture<SeContainer> boot(final ExtensionContext methodLevelEc, final Store store) {
+    // Enforce preconditions
+    methodLevelEc.getRequiredTestInstance();
+
+    final SeContainerInitializer sci = seContainerInitializer(methodLevelEc, store, false);
+    final MethodLevelExtensionContextSupplier methodLevelEcs = methodLevelExtensionContextSupplier(store);
+    if (LOGGER.isLoggable(DEBUG)) {
+      LOGGER.log(DEBUG, "Booting SeContainer in the background using " + sci);
+    }
+    final Admission.Permit permit = admit(methodLevelEc, store);
+    return initializeAsync(methodLevelEc, methodLevelEcs, sci).whenComplete((sec, t) -> permit.booted());
+  }
+
+  // Waits, if limits are configured, until an SeContainer may be booted for the supplied ExtensionContext, and records
+  // the Permit in the supplied Store so that the SeContainerCloser there can release it once it closes the SeContainer.
+  private static final Admission.Permit admit(final ExtensionContext methodLevelEc, final Store store) {
+    final Admission.Permit permit = admission(methodLevelEc).admit(methodLevelEc.getRequiredTestClass().getName());
+    store.put(Admission.Permit.class, permit);
+    return permit;
+  }
+
+  private static final CompletableFuture<SeContainer> initializeAsync(final ExtensionContext methodLevelEc,
+                                                                      final Consumer<? super ExtensionContext> methodLevelEcs,
+                                                                      final SeContainerInitializer sci) {
+    return CompletableFuture.supplyAsync(() -> {
+        methodLevelEcs.accept(methodLevelEc); // the portable extension needs it during boot
+        return initialize(sci);
+      }, backgroundExecutor(methodLevelEc));
+  }
+
+  private static final SeContainer initialize(final ExtensionContext methodLevelEc,
+                                              final Consumer<? super ExtensionContext> methodLevelEcs,
+                                              final SeContainerInitializer sci) {
+    if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+      // Weld, for one, boots using ForkJoinPool#invokeAll. On one of JUnit's parallel execution worker threads, which
+      // belong to a ForkJoinPool too, waiting for those tasks can run other tests' tasks, and those can reenter this
+      // very boot on the same thread, so boot on a thread that cannot steal work.
+      return join(initializeAsync(methodLevelEc, methodLevelEcs, sci));
+    }
+    return initialize(sci);
+  }
+
+  private static final boolean injecting(final AnnotatedElement[] elements) {
+    for (final AnnotatedElement e : elements) {
+      if (e.isAnnotationPresent(Inject.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final SeContainer join(final CompletableFuture<?> boot) {
+    try {
+      return (SeContainer)boot.join();
+    } catch (final CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      } else if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw e;
+    }
+  }
+
+  // Returns the SeContainer (or other Instance<Object>) in the supplied Store, waiting for a background boot if there is
+  // one. Used when the Store is closed; an SeContainer booted in the background has to be closed even if no test ever
+  // joined it (e.g. because a @BeforeEach method failed).
+  private static final Object seContainer(final Store store) {
+    final Object i = store.get(Instance.class);
+    if (i == null) {
+      final CompletableFuture<?> boot = store.get(CompletableFuture.class, CompletableFuture.class);
+      if (boot != null) {
+        // A failed boot has already been (or will never be) reported by whoever joined it.
+        return boot.exceptionally(t -> null).join();
+      }
+    }
+    return i;
+  }
+
+  private final SharedSeContainers.Lease lease(final ExtensionContext methodLevelEc, final Store store) {
+    // Enforce preconditions
+    methodLevelEc.getRequiredTestInstance();
+
+    final MethodLevelExtensionContextSupplier methodLevelEcs = methodLevelExtensionContextSupplier(store);
+    methodLevelEcs.accept(methodLevelEc);
+    final RecordingSeContainerInitializer sci =
+      (RecordingSeContainerInitializer)seContainerInitializer(methodLevelEc, store, true);
+    // Two CdiSupport instances with different SeContainerInitializer Suppliers may configure their
+    // SeContainerInitializers differently before any recording happens, so the Supplier's class is part of the key.
+    final Object fingerprint = List.of(this.s.getClass(), sci.fingerprint());
+    if (LOGGER.isLoggable(TRACE)) {
+      LOGGER.log(TRACE, "Leasing shared SeContainer for " + fingerprint);
+    }
+    return
+      sharedSeContainers(methodLevelEc).lease(fingerprint, () -> initialize(methodLevelEc, methodLevelEcs, sci), methodLevelEcs);
+  }
+
+  private static final SeContainer initialize(final SeContainerInitializer sci) {
     if (LOGGER.isLoggable(TRACE)) {
       LOGGER.log(TRACE, "Creating SeContainer using " + sci);
     }
+    final long start = System.nanoTime();
     final SeContainer sec = sci.initialize();
+    METRICS.initialized(System.nanoTime() - start);
     if (LOGGER.isLoggable(TRACE)) {
       LOGGER.log(TRACE, "Created SeContainer: " + sec);
     }
@@ -198,26 +528,45 @@ public class CdiSupport extends CdiArgumentResolver
   }
 
   private final SeContainerInitializer seContainerInitializer(final ExtensionContext ec) {
-    return seContainerInitializer(ec.getRequiredTestClass(), findStoreForSeContainer(ec));
+    return seContainerInitializer(ec, findStoreForSeContainer(ec), shared(ec));
   }
 
-  private final SeContainerInitializer seContainerInitializer(final Class<?> testClass, final Store store) {
+  private final SeContainerInitializer seContainerInitializer(final ExtensionContext ec,
+                                                              final Store store,
+                                                              final boolean shared) {
     return
       store.getOrComputeIfAbsent(SeContainerInitializer.class,
-                                 __ -> newSeContainerInitializer(testClass, store),
+                                 __ -> newSeContainerInitializer(ec, store, shared),
                                  SeContainerInitializer.class);
   }
 
-  private final SeContainerInitializer newSeContainerInitializer(final Class<?> testClass, final Store store) {
-    return
+  private final SeContainerInitializer newSeContainerInitializer(final ExtensionContext ec,
+                                                                 final Store store,
+                                                                 final boolean shared) {
+    final Class<?> testClass = ec.getRequiredTestClass();
+    final SeContainerInitializer sci =
       newSeContainerInitializer(testClass,
-                                store,
-                                methodLevelExtensionContextSupplier(store));
+                                methodLevelExtensionContextSupplier(store),
+                                shared);
+    if (indexed(ec)) {
+      final CdiIndex index = CdiIndex.of(testClass);
+      if (index.isEmpty()) {
+        if (LOGGER.isLoggable(WARNING)) {
+          LOGGER.log(WARNING, "No " + CdiIndex.RESOURCE + " found for " + testClass.getName() +
+                     "; is the junitopia-cdi-index annotation processor running? Leaving bean discovery enabled");
+        }
+      } else {
+        // The index already names every bean class, so there is no need to scan for them.
+        sci.disableDiscovery();
+        sci.addBeanClasses(index.beanClasses(testClass));
+      }
+    }
+    return sci;
   }
 
   private final SeContainerInitializer newSeContainerInitializer(final Class<?> testClass,
-                                                                 final Store store,
-                                                                 final Supplier<? extends ExtensionContext> methodLevelEcs) {
+                                                                 final MethodLevelExtensionContextSupplier methodLevelEcs,
+                                                                 final boolean shared) {
 
     // If the lifecycle is PER_CLASS:
     // * instance is created by JUnit (!)
@@ -233,33 +582,100 @@ public class CdiSupport extends CdiArgumentResolver
       LOGGER.log(TRACE, "Creating SeContainerInitializer");
     }
     SeContainerInitializer sci = this.s.get();
-    return sci == null ? SeContainerInitializer.newInstance() : sci
+    if (sci == null) {
+      sci = SeContainerInitializer.newInstance();
+    }
+    // @TestScoped beans live in the Store of whatever method-level ExtensionContext is bound to the current thread, so
+    // that concurrently executing invocations never see each other's instances.
+    final Supplier<Store> testContextStores = () -> methodLevelEcs.get().getStore(NAMESPACE);
+    if (shared) {
+      // A shared SeContainer outlives any one test class, so it cannot contain the test class as a bean.
+      sci.addExtensions(new JUnitPortableExtension(methodLevelEcs, testContextStores));
+      // Record only what happens from here on out, i.e. the user's configuration.
+      return new RecordingSeContainerInitializer(sci);
+    }
+    return sci
       .addBeanClasses(testClass)
-      .addExtensions(new JUnitPortableExtension(methodLevelEcs, store));
+      .addExtensions(new JUnitPortableExtension(methodLevelEcs, testContextStores));
   }
 
   @Override // CdiArgumentResolver
   public final boolean supportsParameter(final ParameterContext parameterContext,
                                          final ExtensionContext extensionContext) {
-    return
-      SeContainerInitializer.class == parameterContext.getParameter().getType() ||
-      super.supportsParameter(parameterContext, extensionContext);
+    final Class<?> type = parameterContext.getParameter().getType();
+    if (SeContainerInitializer.class == type) {
+      return true;
+    }
+    if (lazy(extensionContext) &&
+        !SPECIAL_CLASSES.contains(type) &&
+        extensionContext.getTestMethod().isPresent() &&
+        extensionContext.getTestInstance().isPresent()) {
+      final Store store = findStoreForSeContainer(extensionContext);
+      if (store.get(Instance.class) == null) {
+        // First demand for a lazily created SeContainer.
+        this.instance(extensionContext, store);
+      }
+    }
+    return super.supportsParameter(parameterContext, extensionContext);
   }
 
   @Override
   public final Object resolveParameter(final ParameterContext parameterContext,
                                        final ExtensionContext extensionContext) {
     if (SeContainerInitializer.class == parameterContext.getParameter().getType()) {
+      if (background(extensionContext) && findStoreForSeContainer(extensionContext).get(CompletableFuture.class) != null) {
+        throw new ParameterResolutionException("The SeContainerInitializer can no longer be configured because the " +
+                                               "SeContainer is already booting in the background");
+      }
       return seContainerInitializer(extensionContext);
     }
     return super.resolveParameter(parameterContext, extensionContext);
   }
 
+  @Override // CdiArgumentResolver
+  final Optional<Bean<?>> resolution(final ParameterContext parameterContext,
+                                     final ExtensionContext extensionContext,
+                                     final BeanManager bm) {
+    final TestTemplatePlan plan = testTemplatePlan(extensionContext);
+    if (plan == null || !plan.templateMethod(parameterContext.getDeclaringExecutable())) {
+      // (E.g. a parameter of a @BeforeEach method.)
+      return super.resolution(parameterContext, extensionContext, bm);
+    }
+    // Every invocation of a test template resolves its parameters the same way, so only the first one asks the
+    // BeanManager.
+    final int index = parameterContext.getIndex();
+    final Optional<Bean<?>> resolution = plan.resolution(index, bm);
+    if (resolution == null) {
+      RECORDER.record(TEMPLATE_RESOLUTION_RECORDED,
+                      extensionContext.getRequiredTestClass(),
+                      parameterContext.getDeclaringExecutable(),
+                      container(bm));
+      return plan.resolution(index, bm, super.resolution(parameterContext, extensionContext, bm));
+    }
+    return resolution;
+  }
+
   @Override // InvocationInterceptor
   public final void interceptTestMethod(final Invocation<Void> invocation,
                                         final ReflectiveInvocationContext<Method> invocationContext,
                                         final ExtensionContext extensionContext)
     throws Throwable {
+    this.intercept(invocation, invocationContext, extensionContext, null);
+  }
+
+  @Override // InvocationInterceptor
+  public final void interceptTestTemplateMethod(final Invocation<Void> invocation,
+                                                final ReflectiveInvocationContext<Method> invocationContext,
+                                                final ExtensionContext extensionContext)
+    throws Throwable {
+    this.intercept(invocation, invocationContext, extensionContext, testTemplatePlan(extensionContext));
+  }
+
+  private final void intercept(final Invocation<Void> invocation,
+                               final ReflectiveInvocationContext<Method> invocationContext,
+                               final ExtensionContext extensionContext,
+                               final TestTemplatePlan plan)
+    throws Throwable {
 
     Instance<Object> i;
     try {
@@ -274,49 +690,44 @@ public class CdiSupport extends CdiArgumentResolver
     }
 
     if (i == null) {
-      if (LOGGER.isLoggable(WARNING)) {
-        LOGGER.log(WARNING, "No Instance<Object> found");
+      // A lazily created SeContainer that nothing asked for is not an error.
+      final Level level = lazy(extensionContext) ? DEBUG : WARNING;
+      if (LOGGER.isLoggable(level)) {
+        LOGGER.log(level, "No Instance<Object> found");
       }
       invocation.proceed();
       return;
     }
 
-    final Class<?> c = invocationContext.getTargetClass();
-    final Annotation[] qs = qs(c, bm(i));
-    final Instance<?> i2 = i.select(c, qs);
-    if (i2.isUnsatisfied()) {
-      if (LOGGER.isLoggable(WARNING)) {
-        LOGGER.log(WARNING, "No contextual reference found for " +
-                   c +
-                   " with qualifiers " +
-                   Arrays.asList(qs));
-      }
-      invocation.proceed();
-      return;
-    }
-
-    if (i2.isAmbiguous()) {
-      if (LOGGER.isLoggable(WARNING)) {
-        LOGGER.log(WARNING, "Multiple unresolvable contextual references found for " +
-                   c +
-                   " with qualifiers " +
-                   Arrays.asList(qs));
+    final Method m = invocationContext.getExecutable();
+    // Every invocation of a test template dispatches the same way, so only the first one works out how.
+    TestTemplatePlan.Dispatch dispatch = plan == null ? null : plan.dispatch(i);
+    final boolean first = dispatch == null;
+    if (first) {
+      // (Not invocationContext.getTargetClass(), which is the class of whatever test instance JUnit has, and that may
+      // itself be a client proxy.)
+      dispatch = dispatch(i, extensionContext.getRequiredTestClass(), m, extensionContext);
+      if (plan != null) {
+        plan.dispatch(dispatch);
       }
-      invocation.proceed();
-      return;
     }
 
-    final Method m = invocationContext.getExecutable();
-    if (!m.trySetAccessible()) {
-      if (LOGGER.isLoggable(WARNING)) {
-        LOGGER.log(WARNING, m + " could not be made accessible");
+    final FlightRecorder.Event fallback = dispatch.fallback();
+    if (fallback != null) {
+      if (fallback == UNSATISFIED_FALLBACK) {
+        METRICS.unsatisfied();
+      } else if (fallback == AMBIGUOUS_FALLBACK) {
+        METRICS.ambiguous();
+      } else {
+        METRICS.inaccessible();
       }
       invocation.proceed();
       return;
     }
 
-    final Object testReference = i2.get();
-    if (LOGGER.isLoggable(DEBUG)) {
+    final MethodHandle invoker = dispatch.invoker();
+    final Object testReference = dispatch.reference(extensionContext);
+    if (first && LOGGER.isLoggable(DEBUG)) {
       LOGGER.log(DEBUG,
                  "Using contextual reference (" +
                  testReference +
@@ -326,10 +737,205 @@ public class CdiSupport extends CdiArgumentResolver
                  m +
                  ")");
     }
-    m.invoke(testReference, invocationContext.getArguments().toArray(Object[]::new));
+    final List<Object> arguments = invocationContext.getArguments();
+    // (Must be typed as Object[] for invokeExact(Object...) to see it as such.)
+    final Object[] args = arguments.isEmpty() ? NO_ARGUMENTS : arguments.toArray();
+    if (plan == null ? isolated(extensionContext) : plan.isolated()) {
+      if (!VirtualThreads.available()) {
+        if (LOGGER.isLoggable(WARNING)) {
+          LOGGER.log(WARNING, "Virtual threads are not available; invoking " + m + " on " + Thread.currentThread());
+        }
+        final Object ignored = (Object)invoker.invokeExact(testReference, args);
+      } else {
+        final Store store = findStoreForSeContainer(extensionContext);
+        VirtualThreads.call(() -> {
+            // Everything the extension looks up by thread (the @TestScoped context, the ExtensionContext bean) must
+            // see this invocation on the virtual thread, too.
+            bind(extensionContext, store);
+            return (Object)invoker.invokeExact(testReference, args);
+          });
+      }
+    } else {
+      final Object ignored = (Object)invoker.invokeExact(testReference, args);
+    }
     invocation.skip();
   }
 
+  // Works out how to invoke the supplied test method: on a contextual reference to the test class, if there is exactly
+  // one and the test method can be made accessible, or else by letting JUnit proceed.
+  private static final TestTemplatePlan.Dispatch dispatch(final Instance<Object> i,
+                                                          final Class<?> testClass,
+                                                          final Method m,
+                                                          final ExtensionContext extensionContext) {
+    final BeanManager bm = bm(i);
+    final TestClassDescriptor d = testClassDescriptors(extensionContext, bm).descriptor(testClass);
+    if (d.unsatisfied()) {
+      RECORDER.record(UNSATISFIED_FALLBACK, d.testClass(), m, container(bm));
+      // In a shared SeContainer the test class is deliberately not a bean.
+      final Level level = shared(extensionContext) ? DEBUG : WARNING;
+      if (LOGGER.isLoggable(level)) {
+        LOGGER.log(level, "No contextual reference found for " +
+                   d.testClass() +
+                   " with qualifiers " +
+                   Arrays.asList(d.qualifiers()));
+      }
+      return new TestTemplatePlan.Dispatch(i, UNSATISFIED_FALLBACK);
+    }
+
+    if (d.ambiguous()) {
+      RECORDER.record(AMBIGUOUS_FALLBACK, d.testClass(), m, container(bm));
+      if (LOGGER.isLoggable(WARNING)) {
+        LOGGER.log(WARNING, "Multiple unresolvable contextual references found for " +
+                   d.testClass() +
+                   " with qualifiers " +
+                   Arrays.asList(d.qualifiers()));
+      }
+      return new TestTemplatePlan.Dispatch(i, AMBIGUOUS_FALLBACK);
+    }
+
+    final MethodHandle invoker = d.invoker(m);
+    if (invoker == null) {
+      RECORDER.record(INACCESSIBLE_FALLBACK, d.testClass(), m, container(bm));
+      if (LOGGER.isLoggable(WARNING)) {
+        LOGGER.log(WARNING, m + " could not be made accessible");
+      }
+      return new TestTemplatePlan.Dispatch(i, INACCESSIBLE_FALLBACK);
+    }
+
+    RECORDER.record(CONTEXTUAL_INVOCATION, d.testClass(), m, container(bm));
+    return new TestTemplatePlan.Dispatch(i, d, invoker, extensionContext);
+  }
+
+  // Binds the supplied method-level ExtensionContext to the current thread in whatever SeContainer already exists for
+  // it.
+  private static final void bind(final ExtensionContext methodLevelEc, final Store store) {
+    if (shared(methodLevelEc)) {
+      final SharedSeContainers.Lease lease = store.get(SharedSeContainers.Lease.class, SharedSeContainers.Lease.class);
+      if (lease != null) {
+        lease.accept(methodLevelEc);
+      }
+    } else {
+      final MethodLevelExtensionContextSupplier methodLevelEcs =
+        store.get(MethodLevelExtensionContextSupplier.class, MethodLevelExtensionContextSupplier.class);
+      if (methodLevelEcs != null) {
+        methodLevelEcs.accept(methodLevelEc);
+      }
+    }
+  }
+
+  private static final void inject(final ExtensionContext methodLevelEc, final BeanManager bm) {
+    final Object testInstance = methodLevelEc.getRequiredTestInstance();
+    @SuppressWarnings("unchecked")
+    final Class<Object> testClass = (Class<Object>)testInstance.getClass();
+    final InjectionTarget<Object> it =
+      bm.getInjectionTargetFactory(bm.createAnnotatedType(testClass)).createInjectionTarget(null);
+    final CreationalContext<Object> cc = creationalContext(methodLevelEc, bm); // released when the test is over
+    it.inject(testInstance, cc);
+    it.postConstruct(testInstance);
+  }
+
+  private static final SharedSeContainers sharedSeContainers(final ExtensionContext ec) {
+    return
+      ec.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SharedSeContainers.class,
+                                                            __ -> new SharedSeContainers(maxIdleSharedSeContainers(ec)),
+                                                            SharedSeContainers.class);
+  }
+
+  private static final int maxIdleSharedSeContainers(final ExtensionContext ec) {
+    return ec.getConfigurationParameter(SeContainer.class.getName() + ".shared.maxIdle", Integer::valueOf).orElse(4);
+  }
+
+  private static final BackgroundExecutor backgroundExecutor(final ExtensionContext ec) {
+    return
+      ec.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(BackgroundExecutor.class,
+                                                            __ -> new BackgroundExecutor("junitopia-cdi-boot",
+                                                                                         Runtime.getRuntime().availableProcessors()),
+                                                            BackgroundExecutor.class);
+  }
+
+  private static final SeContainerCloser seContainerCloser(final ExtensionContext ec, final Store store) {
+    return new SeContainerCloser(() -> seContainer(store),
+                                 () -> store.get(Admission.Permit.class, Admission.Permit.class),
+                                 backgroundClose(ec) ? backgroundCloser(ec) : null);
+  }
+
+  private static final Admission admission(final ExtensionContext ec) {
+    return
+      ec.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Admission.class,
+                                                            __ -> new Admission(maxLiveSeContainers(ec),
+                                                                                maxBootingSeContainers(ec),
+                                                                                admissionTimeoutSeconds(ec)),
+                                                            Admission.class);
+  }
+
+  // How many (non-shared) SeContainers may be alive at once; 0, the default, means there is no limit.
+  private static final int maxLiveSeContainers(final ExtensionContext ec) {
+    return ec.getConfigurationParameter(SeContainer.class.getName() + ".admission.live", Integer::valueOf).orElse(0);
+  }
+
+  // How many (non-shared) SeContainers may be booting at once; 0, the default, means there is no limit.
+  private static final int maxBootingSeContainers(final ExtensionContext ec) {
+    return ec.getConfigurationParameter(SeContainer.class.getName() + ".admission.booting", Integer::valueOf).orElse(0);
+  }
+
+  // How many seconds to wait to be admitted before failing; 0 means wait indefinitely. The default is 60.
+  private static final long admissionTimeoutSeconds(final ExtensionContext ec) {
+    return ec.getConfigurationParameter(SeContainer.class.getName() + ".admission.timeout", Long::valueOf).orElse(60L);
+  }
+
+  private static final BackgroundCloser backgroundCloser(final ExtensionContext ec) {
+    return
+      ec.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(BackgroundCloser.class,
+                                                            __ -> new BackgroundCloser(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+                                                            BackgroundCloser.class);
+  }
+
+  // Whether SeContainers are closed in the background (as opposed to on the test thread, the default).
+  private static final boolean backgroundClose(final ExtensionContext ec) {
+    return "background".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() + ".close").orElse(null));
+  }
+
+  // Whether the test class or the test method, judging from their declarations, call for an SeContainer at all.
+  private static final boolean needsSeContainer(final ExtensionContext methodLevelEc) {
+    if (INJECTING.get(methodLevelEc.getRequiredTestClass())) {
+      return true;
+    }
+    for (final Class<?> parameterType : methodLevelEc.getRequiredTestMethod().getParameterTypes()) {
+      if (!SPECIAL_CLASSES.contains(parameterType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Whether bean classes come from the compile-time index (see CdiIndex) instead of from bean discovery.
+  private static final boolean indexed(final ExtensionContext ec) {
+    return "index".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() + ".discovery").orElse(null));
+  }
+
+  // Whether SeContainers are created only when something calls for them.
+  private static final boolean lazy(final ExtensionContext ec) {
+    return
+      "lazy".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() + ".initialization").orElse(null));
+  }
+
+  // Whether SeContainers are booted in the background (as opposed to on the test thread ("eager"), the default).
+  private static final boolean background(final ExtensionContext ec) {
+    return
+      "background".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() + ".initialization").orElse(null));
+  }
+
+  // Whether each contextual test method invocation happens on a fresh virtual thread of its own (as opposed to on the
+  // test thread, the default), so that it sees nothing an earlier invocation left in a ThreadLocal. This buys isolation,
+  // not throughput: the test thread waits for the virtual thread to finish.
+  private static final boolean isolated(final ExtensionContext ec) {
+    return "isolated".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() + ".invocation").orElse(null));
+  }
+
+  private static final boolean shared(final ExtensionContext ec) {
+    return "shared".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() + ".lifecycle").orElse(null));
+  }
+
   private static final MethodLevelExtensionContextSupplier methodLevelExtensionContextSupplier(final Store store) {
     return
       store.getOrComputeIfAbsent(MethodLevelExtensionContextSupplier.class,
@@ -343,11 +949,23 @@ public class CdiSupport extends CdiArgumentResolver
     ec.getRequiredTestClass(); // enforce preconditions
     if (ec.getElement().orElse(null) instanceof Method) {
       ec.getRequiredTestInstance(); // enforce preconditions
+      final TestTemplatePlan plan = testTemplatePlan(ec);
+      if (plan != null) {
+        final Store store = plan.store();
+        return store == null ? ec.getStore(NAMESPACE) : store;
+      }
+      if (shared(ec)) {
+        // The shared SeContainer itself lives in the root Store; the class-level Store holds the lease on it.
+        return ec.getParent().orElse(ec).getStore(NAMESPACE);
+      }
       if (ec.getTestInstanceLifecycle().orElse(PER_METHOD) == Lifecycle.PER_METHOD &&
           "per_class".equalsIgnoreCase(ec.getConfigurationParameter(SeContainer.class.getName() +
                                                                     ".lifecycle").orElse(null))) {
-        if (LOGGER.isLoggable(INFO)) {
-          LOGGER.log(INFO, "Using class-level store for SeContainer in a test with TestInstance#PER_METHOD lifecycle");
+        // One SeContainer serves every test method in the class. Isolation between test methods comes from the
+        // @TestScoped beans (the test class bean among them), which live in each method-level Store and so are
+        // destroyed when it is closed, and from beforeEach binding each invocation's ExtensionContext anew.
+        if (LOGGER.isLoggable(DEBUG)) {
+          LOGGER.log(DEBUG, "Using class-level store for SeContainer in a test with TestInstance#PER_METHOD lifecycle");
         }
         return ec.getParent().orElse(ec).getStore(NAMESPACE);
       }
@@ -355,56 +973,40 @@ public class CdiSupport extends CdiArgumentResolver
     return ec.getStore(NAMESPACE);
   }
 
-  private static final class MethodLevelExtensionContextSupplier
-    implements CloseableResource, Consumer<ExtensionContext>, Supplier<ExtensionContext> {
-
-    private static final Logger LOGGER = getLogger(MethodLevelExtensionContextSupplier.class.getName());
-
-    private volatile ExtensionContext ec; // does this need to be a ThreadLocal?
-
-    private MethodLevelExtensionContextSupplier() {
-      super();
-      if (LOGGER.isLoggable(TRACE)) {
-        LOGGER.log(TRACE, "Creating");
-      }
+  // Returns the TestTemplatePlan shared by every invocation of the test template the supplied ExtensionContext is an
+  // invocation of, or null if it is not an invocation of a test template.
+  private static final TestTemplatePlan testTemplatePlan(final ExtensionContext ec) {
+    final ExtensionContext templateEc = ec.getParent().orElse(null);
+    if (templateEc == null || templateEc.getTestMethod().isEmpty()) {
+      return null;
     }
+    return
+      templateEc.getStore(NAMESPACE).getOrComputeIfAbsent(TestTemplatePlan.class,
+                                                           __ -> new TestTemplatePlan(templateEc.getRequiredTestMethod(),
+                                                                                      templateStore(templateEc),
+                                                                                      isolated(templateEc)),
+                                                           TestTemplatePlan.class);
+  }
 
-    @Override // Consumer<ExtensionContext>
-    public final void accept(final ExtensionContext ec) {
-      final ExtensionContext oldEc = this.ec; // volatile read
-      if (LOGGER.isLoggable(TRACE)) {
-        LOGGER.log(TRACE, "Accepting: " + ec + "; this.ec: " + oldEc);
-      }
-      if (oldEc == null) {
-        // Ensure the supplied ExtensionContext is "method level"
-        ec.getRequiredTestInstance();
-        ec.getRequiredTestMethod();
-        this.ec = ec; // volatile write
-      } else if (oldEc != ec) {
-        if (LOGGER.isLoggable(TRACE)) {
-          LOGGER.log(TRACE, "Replacing " + oldEc + " with " + ec);
-        }
-        this.ec = ec; // volatile write
-      }
+  // Returns the Store holding the SeContainer for every invocation of the test template represented by the supplied
+  // ExtensionContext, or null if each invocation has its own SeContainer, the default.
+  private static final Store templateStore(final ExtensionContext templateEc) {
+    final ExtensionContext classLevelEc = templateEc.getParent().orElse(templateEc);
+    if (shared(templateEc)) {
+      return classLevelEc.getStore(NAMESPACE);
     }
-
-    @Override // CloseableResource
-    public final void close() {
-      if (LOGGER.isLoggable(TRACE)) {
-        LOGGER.log(TRACE, "Closing (" + this + "; this.ec: " + this.ec + ")");
-      }
-      this.ec = null; // volatile write
+    final String lifecycle = templateEc.getConfigurationParameter(SeContainer.class.getName() + ".lifecycle").orElse(null);
+    if (templateEc.getTestInstanceLifecycle().orElse(PER_METHOD) == Lifecycle.PER_METHOD &&
+        "per_class".equalsIgnoreCase(lifecycle)) {
+      return classLevelEc.getStore(NAMESPACE);
     }
-
-    @Override // Supplier<ExtensionContext>
-    public final ExtensionContext get() {
-      final ExtensionContext ec = this.ec; // volatile read
-      if (ec == null) {
-        throw new IllegalStateException("this.ec: null");
-      }
-      return ec;
+    if ("per_template".equalsIgnoreCase(lifecycle)) {
+      // The invocations form one batch: they share one SeContainer, which lives as long as the test template does,
+      // and isolation between them comes from their @TestScoped beans (the test class bean among them), as it does
+      // for test methods under the per_class SeContainer lifecycle.
+      return templateEc.getStore(NAMESPACE);
     }
-
+    return null;
   }
 
 }
@@ -0,0 +1,45 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+// The management interface, registered with the platform MBeanServer as
+// io.github.ljnelson.junitopia.cdi:type=CdiSupport, through which CdiSupport's cumulative metrics can be observed.
+public interface CdiSupportMXBean {
+
+  long getContainersCreated();
+
+  long getContainersClosed();
+
+  long getInitializeNanos();
+
+  long getCloseNanos();
+
+  long getParameterResolutionHits();
+
+  long getParameterResolutionMisses();
+
+  long getUnsatisfiedFallbacks();
+
+  long getAmbiguousFallbacks();
+
+  long getInaccessibleFallbacks();
+
+  long getLiveTestScopedInstances();
+
+  // How many SeContainers have been admitted under configured limits, and how long they waited in total.
+  long getAdmissions();
+
+  long getAdmissionWaitNanos();
+
+}
@@ -42,6 +42,12 @@ final class CloseableCreationalContext<T> implements CreationalContext<T>, AutoC
     this.release();
   }
 
+  // The CreationalContext to hand to the CDI implementation, which may not recognize this one as its own (Weld, for
+  // example, tracks no dependent objects in a CreationalContext it did not create).
+  final CreationalContext<T> delegate() {
+    return this.cc == null ? this : this.cc;
+  }
+
   @Override // CreationalContext<T>
   public final void push(final T t) {
     if (this.cc != null) {
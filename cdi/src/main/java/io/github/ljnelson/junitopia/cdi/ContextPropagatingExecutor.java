@@ -0,0 +1,237 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+// The TestExecutor implementation. Tasks are handed to a shared Executor after being wrapped so that, while they run,
+// the test invocation that created this ContextPropagatingExecutor is bound to their thread. The shared Executor is
+// never shut down; shutting this down just stops it from accepting tasks, and terminating means every task it did
+// accept has finished or, after shutdownNow(), has been abandoned.
+final class ContextPropagatingExecutor extends AbstractExecutorService implements TestExecutor {
+
+  private static final Logger LOGGER = getLogger(ContextPropagatingExecutor.class.getName());
+
+  // How long close() waits for accepted tasks to finish before abandoning them.
+  private static final long CLOSE_TIMEOUT_NANOS =
+    SECONDS.toNanos(Long.getLong(ContextPropagatingExecutor.class.getName() + ".closeTimeout", 10L));
+
+  private final MethodLevelExtensionContextSupplier methodLevelEcs;
+
+  private final ExtensionContext methodLevelEc;
+
+  private final Executor executor;
+
+  private final long closeTimeoutNanos;
+
+  // Guarded by this.
+  private boolean shutdown;
+
+  // Accepted tasks that have neither finished nor been abandoned. Guarded by this.
+  private final Set<Task> pending;
+
+  ContextPropagatingExecutor(final MethodLevelExtensionContextSupplier methodLevelEcs,
+                             final ExtensionContext methodLevelEc,
+                             final Executor executor) {
+    this(methodLevelEcs, methodLevelEc, executor, CLOSE_TIMEOUT_NANOS);
+  }
+
+  ContextPropagatingExecutor(final MethodLevelExtensionContextSupplier methodLevelEcs,
+                             final ExtensionContext methodLevelEc,
+                             final Executor executor,
+                             final long closeTimeoutNanos) {
+    super();
+    this.methodLevelEcs = Objects.requireNonNull(methodLevelEcs, "methodLevelEcs");
+    this.methodLevelEc = Objects.requireNonNull(methodLevelEc, "methodLevelEc");
+    this.executor = Objects.requireNonNull(executor, "executor");
+    this.closeTimeoutNanos = closeTimeoutNanos;
+    this.pending = new HashSet<>();
+  }
+
+  @Override // Executor
+  public final void execute(final Runnable r) {
+    final Task task = new Task(Objects.requireNonNull(r, "r"));
+    synchronized (this) {
+      if (this.shutdown) {
+        throw new RejectedExecutionException(this.methodLevelEc.getUniqueId() + " is over");
+      }
+      this.pending.add(task);
+    }
+    try {
+      this.executor.execute(task);
+    } catch (final RuntimeException | Error e) {
+      this.done(task);
+      throw e;
+    }
+  }
+
+  private final synchronized void done(final Task task) {
+    if (this.pending.remove(task) && this.pending.isEmpty() && this.shutdown) {
+      this.notifyAll();
+    }
+  }
+
+  @Override // ExecutorService
+  public final synchronized void shutdown() {
+    this.shutdown = true;
+    if (this.pending.isEmpty()) {
+      this.notifyAll();
+    }
+  }
+
+  // Tasks already handed to the shared Executor cannot be taken back from it. Those that have not started yet are
+  // abandoned (they will do nothing when the shared Executor gets to them) and returned; those that have are
+  // interrupted.
+  @Override // ExecutorService
+  public final synchronized List<Runnable> shutdownNow() {
+    this.shutdown = true;
+    final List<Runnable> abandoned = new ArrayList<>();
+    for (final Task task : this.pending) {
+      if (task.thread == null) {
+        task.abandoned = true;
+        abandoned.add(task.r);
+      } else {
+        task.interrupted = true;
+        task.thread.interrupt();
+      }
+    }
+    this.pending.removeIf(task -> task.abandoned);
+    if (this.pending.isEmpty()) {
+      this.notifyAll();
+    }
+    return abandoned;
+  }
+
+  @Override // ExecutorService
+  public final synchronized boolean isShutdown() {
+    return this.shutdown;
+  }
+
+  @Override // ExecutorService
+  public final synchronized boolean isTerminated() {
+    return this.shutdown && this.pending.isEmpty();
+  }
+
+  @Override // ExecutorService
+  public final synchronized boolean awaitTermination(final long timeout, final TimeUnit unit)
+    throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!this.isTerminated()) {
+      final long nanos = deadline - System.nanoTime();
+      if (nanos <= 0L) {
+        return false;
+      }
+      NANOSECONDS.timedWait(this, nanos);
+    }
+    return true;
+  }
+
+  // Called when the @TestScoped instance is destroyed.
+  final void close() {
+    this.shutdown();
+    final long deadline = System.nanoTime() + this.closeTimeoutNanos;
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          if (this.awaitTermination(deadline - System.nanoTime(), NANOSECONDS)) {
+            return;
+          }
+          break;
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      final List<Runnable> abandoned = this.shutdownNow();
+      if (LOGGER.isLoggable(WARNING)) {
+        final int running;
+        synchronized (this) {
+          running = this.pending.size();
+        }
+        LOGGER.log(WARNING, "Tasks submitted during " + this.methodLevelEc.getUniqueId() + " did not finish within " +
+                   NANOSECONDS.toMillis(this.closeTimeoutNanos) + " ms; " + running + " running task(s) interrupted, " +
+                   abandoned.size() + " task(s) that never started abandoned: " + abandoned);
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private final class Task implements Runnable {
+
+    private final Runnable r;
+
+    // Guarded by ContextPropagatingExecutor.this.
+    private Thread thread;
+
+    // Guarded by ContextPropagatingExecutor.this.
+    private boolean abandoned;
+
+    // Guarded by ContextPropagatingExecutor.this.
+    private boolean interrupted;
+
+    private Task(final Runnable r) {
+      super();
+      this.r = r;
+    }
+
+    @Override // Runnable
+    public final void run() {
+      synchronized (ContextPropagatingExecutor.this) {
+        if (this.abandoned) {
+          return;
+        }
+        this.thread = Thread.currentThread();
+      }
+      try {
+        methodLevelEcs.run(methodLevelEc, this.r);
+      } finally {
+        final boolean interrupted;
+        synchronized (ContextPropagatingExecutor.this) {
+          this.thread = null;
+          interrupted = this.interrupted;
+        }
+        done(this);
+        if (interrupted) {
+          // Don't leave shutdownNow()'s interrupt behind for the shared Executor's next task.
+          Thread.interrupted();
+        }
+      }
+    }
+
+  }
+
+}
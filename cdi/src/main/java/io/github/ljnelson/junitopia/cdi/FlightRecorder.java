@@ -0,0 +1,168 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.invoke.VarHandle;
+
+import java.lang.reflect.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+// A fixed-size, preallocated ring buffer of structured diagnostic events, cheap enough to leave on all the time (unlike
+// DEBUG or TRACE logging, which concatenates Strings). Recording allocates nothing; the buffer is only formatted, by
+// dump(Class), when a test fails. The oldest events are overwritten once the buffer is full. Only names are kept, so
+// that the buffer does not keep test classes (or their ClassLoaders) reachable.
+final class FlightRecorder {
+
+  static final FlightRecorder INSTANCE =
+    new FlightRecorder(Integer.getInteger(FlightRecorder.class.getName() + ".size", 4096));
+
+  enum Event {
+    BOOT_STARTED,
+    BOOTED,
+    BOOT_DEFERRED,
+    SHARED_LEASED,
+    CLOSED,
+    CONTEXTUAL_TEST_INSTANCE,
+    CONSTRUCTOR_FAILED,
+    CONSTRUCTOR_CHOSEN,
+    TEST_CLASS_TEST_SCOPED,
+    TEST_SCOPED_CREATED,
+    TEST_SCOPED_DESTROYED,
+    TEST_SCOPED_RECYCLED,
+    TEST_SCOPED_REUSED,
+    CONTEXTUAL_INVOCATION,
+    TEMPLATE_RESOLUTION_RECORDED,
+    UNSATISFIED_FALLBACK,
+    AMBIGUOUS_FALLBACK,
+    INACCESSIBLE_FALLBACK;
+  }
+
+  // -1 if disabled.
+  private final int mask;
+
+  private final AtomicLong next;
+
+  // For each slot, one more than the sequence number of the event it holds once that event is completely written, or 0
+  // while it is being written.
+  private final AtomicLongArray sequences;
+
+  private final Event[] events;
+
+  private final String[] classNames;
+
+  private final String[] memberNames;
+
+  private final long[] timestamps;
+
+  private final int[] containers;
+
+  FlightRecorder(final int size) {
+    super();
+    // Round up to a power of two so that a slot can be found with a mask.
+    final int capacity = size <= 0 ? 0 : Integer.highestOneBit(Math.min(size, 1 << 20) * 2 - 1);
+    this.mask = capacity - 1;
+    this.next = new AtomicLong();
+    this.sequences = new AtomicLongArray(capacity);
+    this.events = new Event[capacity];
+    this.classNames = new String[capacity];
+    this.memberNames = new String[capacity];
+    this.timestamps = new long[capacity];
+    this.containers = new int[capacity];
+  }
+
+  // The container is the number JUnitPortableExtension gave the SeContainer the event concerns, or 0 if there is none
+  // (yet). (Class and Member names are cached or interned by the JDK, so getting them allocates nothing.)
+  final void record(final Event event, final Class<?> c, final Member member, final int container) {
+    if (this.mask < 0) {
+      return;
+    }
+    final long sequence = this.next.getAndIncrement();
+    final int slot = (int)sequence & this.mask;
+    this.sequences.set(slot, 0L);
+    VarHandle.storeStoreFence(); // so that a reader never sees the new fields without seeing the slot invalidated
+    this.events[slot] = event;
+    this.classNames[slot] = c == null ? null : c.getName();
+    this.memberNames[slot] = member == null ? null : member.getName();
+    this.timestamps[slot] = System.nanoTime();
+    this.containers[slot] = container;
+    this.sequences.setRelease(slot, sequence + 1);
+  }
+
+  // Returns the buffered events involving no class at all, the supplied class, or a class nested in it, oldest first,
+  // one per line. Events being overwritten while this runs are skipped.
+  final List<String> dump(final Class<?> c) {
+    final List<String> lines = new ArrayList<>();
+    final long end = this.next.get();
+    for (long sequence = Math.max(0L, end - this.mask - 1); sequence < end; sequence++) {
+      final int slot = (int)sequence & this.mask;
+      if (this.sequences.getAcquire(slot) != sequence + 1) {
+        continue;
+      }
+      final Event event = this.events[slot];
+      final String eventClassName = this.classNames[slot];
+      final String memberName = this.memberNames[slot];
+      final long timestamp = this.timestamps[slot];
+      final int container = this.containers[slot];
+      VarHandle.acquireFence();
+      if (this.sequences.get(slot) != sequence + 1 || !involves(eventClassName, c)) {
+        continue;
+      }
+      final StringBuilder sb = new StringBuilder()
+        .append(timestamp)
+        .append(' ')
+        .append(event);
+      if (eventClassName != null) {
+        sb.append(' ').append(eventClassName);
+      }
+      if (memberName != null) {
+        sb.append('#').append(memberName);
+      }
+      if (container != 0) {
+        sb.append(" container=").append(container);
+      }
+      lines.add(sb.toString());
+    }
+    return lines;
+  }
+
+  private static final boolean involves(final String eventClassName, final Class<?> c) {
+    if (eventClassName == null || c == null) {
+      return true;
+    }
+    final String name = c.getName();
+    return
+      eventClassName.startsWith(name) &&
+      (eventClassName.length() == name.length() || eventClassName.charAt(name.length()) == '$');
+  }
+
+  // Returns the number identifying, in events, the SeContainer the supplied BeanManager belongs to, or 0.
+  static final int container(final BeanManager bm) {
+    if (bm == null) {
+      return 0;
+    }
+    try {
+      return bm.getExtension(JUnitPortableExtension.class).container();
+    } catch (final IllegalArgumentException e) {
+      return 0;
+    }
+  }
+
+}
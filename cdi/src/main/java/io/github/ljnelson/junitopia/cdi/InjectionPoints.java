@@ -0,0 +1,131 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Annotation;
+
+import java.lang.reflect.Executable;
+
+import java.util.List;
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.enterprise.inject.spi.AnnotatedParameter;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import static io.github.ljnelson.junitopia.cdi.AbstractCdiExtension.ac;
+import static io.github.ljnelson.junitopia.cdi.AbstractCdiExtension.qs;
+
+// A cache of InjectionPoints, and their effective qualifiers, for the parameters of Executables, valid for exactly one
+// BeanManager. Meant to live in the same Store as the SeContainer whose BeanManager it uses, so that it is cleared when
+// that SeContainer is closed.
+final class InjectionPoints implements CloseableResource {
+
+  private static final Annotation[] DEFAULT_QUALIFIERS = qs(List.of());
+
+  private final BeanManager bm;
+
+  private final ConcurrentMap<Executable, Parameters> parameters;
+
+  InjectionPoints(final BeanManager bm) {
+    super();
+    this.bm = Objects.requireNonNull(bm, "bm");
+    this.parameters = new ConcurrentHashMap<>();
+  }
+
+  final InjectionPoint injectionPoint(final Executable e, final int index) {
+    return this.entry(this.parameters(e), e, index).ip;
+  }
+
+  final Annotation[] qualifiers(final Executable e, final int index) {
+    final Parameters ps = this.parameters(e);
+    // The compile-time index, if there is one, answers the common unqualified case without creating an AnnotatedType.
+    if (ps.unqualified[index]) {
+      return DEFAULT_QUALIFIERS;
+    }
+    return this.entry(ps, e, index).qs;
+  }
+
+  private final Parameters parameters(final Executable e) {
+    return this.parameters.computeIfAbsent(e, Parameters::new);
+  }
+
+  private final Entry entry(final Parameters ps, final Executable e, final int index) {
+    Entry entry = ps.entries[index]; // racy but benign; Entry is immutable
+    if (entry == null) {
+      final InjectionPoint ip = this.bm.createInjectionPoint(this.annotatedParameters(ps, e).get(index));
+      entry = new Entry(ip, qs(ip.getQualifiers()));
+      ps.entries[index] = entry;
+    }
+    return entry;
+  }
+
+  // Creating an AnnotatedType and finding the right AnnotatedCallable in it is the expensive part, so do it once per
+  // Executable, and only when some parameter's InjectionPoint is actually needed.
+  private final List<? extends AnnotatedParameter<?>> annotatedParameters(final Parameters ps, final Executable e) {
+    synchronized (ps) {
+      if (ps.annotatedParameters == null) {
+        ps.annotatedParameters = ac(e, this.bm).getParameters();
+      }
+      return ps.annotatedParameters;
+    }
+  }
+
+  @Override // CloseableResource
+  public final void close() {
+    this.parameters.clear();
+  }
+
+  private static final class Parameters {
+
+    // What the compile-time index says about each parameter, looked up once.
+    private final boolean[] unqualified;
+
+    private final Entry[] entries;
+
+    // @GuardedBy("this")
+    private List<? extends AnnotatedParameter<?>> annotatedParameters;
+
+    private Parameters(final Executable e) {
+      super();
+      final CdiIndex index = CdiIndex.of(e.getDeclaringClass());
+      this.unqualified = new boolean[e.getParameterCount()];
+      for (int i = 0; i < this.unqualified.length; i++) {
+        this.unqualified[i] = index.unqualified(e, i);
+      }
+      this.entries = new Entry[this.unqualified.length];
+    }
+
+  }
+
+  private static final class Entry {
+
+    private final InjectionPoint ip;
+
+    private final Annotation[] qs;
+
+    private Entry(final InjectionPoint ip, final Annotation[] qs) {
+      super();
+      this.ip = ip;
+      this.qs = qs;
+    }
+
+  }
+
+}
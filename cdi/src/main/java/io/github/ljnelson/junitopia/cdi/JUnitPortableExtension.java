@@ -18,30 +18,43 @@ import java.lang.System.Logger;
 import java.lang.annotation.Annotation;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import java.util.function.Supplier;
 
 import jakarta.enterprise.context.Dependent;
 
 import jakarta.enterprise.event.Observes;
 
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+
 import jakarta.enterprise.inject.literal.InjectLiteral;
 
 import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
 import jakarta.enterprise.inject.spi.Annotated;
 import jakarta.enterprise.inject.spi.AnnotatedConstructor;
 import jakarta.enterprise.inject.spi.AnnotatedType;
+import jakarta.enterprise.inject.spi.BeanAttributes;
 import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.BeforeShutdown;
 import jakarta.enterprise.inject.spi.Extension;
 import jakarta.enterprise.inject.spi.ProcessAnnotatedType;
 import jakarta.enterprise.inject.spi.ProcessBeanAttributes;
 import jakarta.enterprise.inject.spi.WithAnnotations;
 
 import jakarta.enterprise.inject.spi.configurator.AnnotatedConstructorConfigurator;
+import jakarta.enterprise.inject.spi.configurator.BeanConfigurator;
 
 import jakarta.inject.Inject;
 
@@ -56,19 +69,33 @@ import static java.lang.System.getLogger;
 
 import static java.lang.System.Logger.Level.DEBUG;
 
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEST_CLASS_TEST_SCOPED;
+
 class JUnitPortableExtension implements Extension {
 
   private static final Logger LOGGER = getLogger(JUnitPortableExtension.class.getName());
 
-  private final Supplier<? extends ExtensionContext> methodLevelEcs;
+  private static final AtomicInteger CONTAINERS = new AtomicInteger();
 
-  private final Store cdiInstanceStore;
+  // Identifies this extension's SeContainer in FlightRecorder events.
+  private final int container;
 
-  JUnitPortableExtension(final Supplier<? extends ExtensionContext> methodLevelEcs,
-                         final Store cdiInstanceStore) {
+  private final MethodLevelExtensionContextSupplier methodLevelEcs;
+
+  private final Supplier<? extends Store> testContextStores;
+
+  private volatile TestContext testContext;
+
+  JUnitPortableExtension(final MethodLevelExtensionContextSupplier methodLevelEcs,
+                         final Supplier<? extends Store> testContextStores) {
     super();
     this.methodLevelEcs = Objects.requireNonNull(methodLevelEcs, "methodLevelEcs");
-    this.cdiInstanceStore = Objects.requireNonNull(cdiInstanceStore, "cdiInstanceStore");
+    this.testContextStores = Objects.requireNonNull(testContextStores, "testContextStores");
+    this.container = CONTAINERS.incrementAndGet();
+  }
+
+  final int container() {
+    return this.container;
   }
 
   private final <T> void addInjectToSoleConstructorIfNeeded(@Observes
@@ -94,6 +121,30 @@ class JUnitPortableExtension implements Extension {
     }
   }
 
+  private final <T> void putTestClassWithPrivateNoArgConstructorInTestScope(@Observes
+                                                                            @WithAnnotations(Test.class)
+                                                                            final ProcessAnnotatedType<T> event,
+                                                                            final BeanManager bm) {
+    final AnnotatedType<T> t = event.getAnnotatedType();
+    if (t.getJavaClass() == methodLevelEcs.get().getRequiredTestClass()) {
+      for (final Annotation annotation : t.getAnnotations()) {
+        final Class<? extends Annotation> annotationType = annotation.annotationType();
+        if (bm.isScope(annotationType) || bm.isNormalScope(annotationType) || bm.isStereotype(annotationType)) {
+          return;
+        }
+      }
+      for (final AnnotatedConstructor<T> c : t.getConstructors()) {
+        if (c.getParameters().isEmpty() && Modifier.isPrivate(c.getJavaMember().getModifiers())) {
+          // OpenWebBeans does not consider a class with a private no-argument constructor and no scope annotation a
+          // bean at all, so the test class would never make it to ProcessBeanAttributes below. Declare the scope now.
+          event.configureAnnotatedType().add(TestScoped.Literal.INSTANCE);
+          FlightRecorder.INSTANCE.record(TEST_CLASS_TEST_SCOPED, t.getJavaClass(), null, this.container);
+          return;
+        }
+      }
+    }
+  }
+
   private final <T> void putTestClassInTestScopeUnlessOtherwiseSpecified(@Observes
                                                                          final ProcessBeanAttributes<T> event,
                                                                          final BeanManager bm) {
@@ -115,6 +166,7 @@ class JUnitPortableExtension implements Extension {
           // CDI or some portable extension set the scope to Dependent; take this as an indication that the scope was
           // defaulted. Force the default scope here to be TestScoped instead.
           event.configureBeanAttributes().scope(TestScoped.class);
+          FlightRecorder.INSTANCE.record(TEST_CLASS_TEST_SCOPED, t.getJavaClass(), null, this.container);
         }
       }
     }
@@ -123,7 +175,8 @@ class JUnitPortableExtension implements Extension {
   private final void addTestContextAndPlatformBeans(@Observes
                                                     final AfterBeanDiscovery event,
                                                     final BeanManager bm) {
-    event.addContext(new TestContext(this.cdiInstanceStore));
+    this.testContext = new TestContext(this.testContextStores, this.container);
+    event.addContext(this.testContext);
 
     // Provide support for, e.g.:
     //
@@ -177,16 +230,59 @@ class JUnitPortableExtension implements Extension {
       .types(TestReporter.class, Object.class)
       .scope(TestScoped.class)
       .produceWith(i -> i.select(ExtensionContext.class).get()::publishReportEntry);
+    // Provide support for, e.g.:
+    //
+    // @Inject
+    // @Default
+    // TestExecutor testExecutor;
+    final Executor executor = VirtualThreads.available() ? VirtualThreads::start : ForkJoinPool.commonPool();
+    event.<ContextPropagatingExecutor>addBean()
+      .types(TestExecutor.class, Object.class)
+      .scope(TestScoped.class)
+      // (Not the ExtensionContext bean: that is a client proxy, which would itself look up whatever is bound.)
+      .produceWith(i -> new ContextPropagatingExecutor(this.methodLevelEcs, this.methodLevelEcs.get(), executor))
+      .disposeWith((e, i) -> e.close());
     // Provide support for:
     //
     // @Inject
     // @Original // <-- note
     // MyTestClass junitCreatedTestInstance;
-    event.addBean()
-      .read(bm.createBeanAttributes(event.getAnnotatedType(methodLevelEcs.get().getRequiredTestClass(), null)))
-      .scope(Dependent.class)
-      .addQualifier(Original.Literal.INSTANCE)
-      .produceWith(i -> i.select(ExtensionContext.class).get().getRequiredTestInstance());
+    //
+    // (The test class will not be a bean if, for example, the SeContainer is shared among several test classes.)
+    final AnnotatedType<?> testClassType = event.getAnnotatedType(methodLevelEcs.get().getRequiredTestClass(), null);
+    if (testClassType != null) {
+      // (OpenWebBeans yields no BeanAttributes at all for a class without a bean defining annotation.)
+      final BeanAttributes<?> testClassAttributes = bm.createBeanAttributes(testClassType);
+      final BeanConfigurator<Object> bc = event.addBean();
+      final Set<Annotation> qualifiers = new HashSet<>();
+      if (testClassAttributes == null) {
+        bc.types(testClassType.getTypeClosure());
+        for (final Annotation a : testClassType.getAnnotations()) {
+          if (bm.isQualifier(a.annotationType())) {
+            qualifiers.add(a);
+          }
+        }
+      } else {
+        bc.read(testClassAttributes);
+        qualifiers.addAll(testClassAttributes.getQualifiers());
+      }
+      // Keep the test class' own qualifiers, but not @Default, which the test class' own bean has: Weld drops @Default
+      // when a qualifier is added, but OpenWebBeans does not.
+      qualifiers.removeIf(q -> q.annotationType() == Default.class);
+      qualifiers.add(Any.Literal.INSTANCE);
+      qualifiers.add(Original.Literal.INSTANCE);
+      bc.scope(Dependent.class)
+        .qualifiers(qualifiers)
+        // (OpenWebBeans' Instance here carries the bean's qualifiers, so it could not select the ExtensionContext bean.)
+        .createWith(cc -> this.methodLevelEcs.get().getRequiredTestInstance());
+    }
+  }
+
+  private final void destroyPooledInstances(@Observes final BeforeShutdown event) {
+    final TestContext testContext = this.testContext;
+    if (testContext != null) {
+      testContext.destroyPooledInstances();
+    }
   }
 
 }
@@ -0,0 +1,125 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.TRACE;
+
+import static io.github.ljnelson.junitopia.cdi.AbstractCdiExtension.NAMESPACE;
+
+// Supplies the method-level ExtensionContext of the test invocation the current thread is executing. Under JUnit's
+// concurrent execution mode several invocations may be in flight against the same SeContainer at once, each on its own
+// thread, so bindings are per thread. A binding is undone when the method-level ExtensionContext's Store is closed.
+final class MethodLevelExtensionContextSupplier
+  implements CloseableResource, Consumer<ExtensionContext>, Supplier<ExtensionContext> {
+
+  private static final Logger LOGGER = getLogger(MethodLevelExtensionContextSupplier.class.getName());
+
+  // Keyed by Thread rather than held in a ThreadLocal so that a binding can be undone from any thread, and so that
+  // pooled JUnit worker threads do not keep ExtensionContexts reachable.
+  private final ConcurrentMap<Thread, ExtensionContext> ecs;
+
+  MethodLevelExtensionContextSupplier() {
+    super();
+    if (LOGGER.isLoggable(TRACE)) {
+      LOGGER.log(TRACE, "Creating");
+    }
+    this.ecs = new ConcurrentHashMap<>();
+  }
+
+  @Override // Consumer<ExtensionContext>
+  public final void accept(final ExtensionContext ec) {
+    // Ensure the supplied ExtensionContext is "method level"
+    ec.getRequiredTestInstance();
+    ec.getRequiredTestMethod();
+    final Thread t = Thread.currentThread();
+    final ExtensionContext oldEc = this.ecs.put(t, ec);
+    if (oldEc != ec) {
+      if (LOGGER.isLoggable(TRACE)) {
+        LOGGER.log(TRACE, "Binding " + ec + " to " + t + " (previously: " + oldEc + ")");
+      }
+      final Binding b = new Binding(t, ec);
+      ec.getStore(NAMESPACE).put(b, b); // will unbind when the test is over
+    }
+  }
+
+  @Override // CloseableResource
+  public final void close() {
+    if (LOGGER.isLoggable(TRACE)) {
+      LOGGER.log(TRACE, "Closing (" + this + "; bindings: " + this.ecs + ")");
+    }
+    // Outstanding per-thread bindings are undone by their own Bindings.
+  }
+
+  @Override // Supplier<ExtensionContext>
+  public final ExtensionContext get() {
+    // A thread a test starts itself has no binding of its own, and borrowing another thread's could hand it some other,
+    // concurrently executing, test's ExtensionContext. Such threads must have the binding propagated to them, as
+    // ContextPropagatingExecutor (TestExecutor) does.
+    final ExtensionContext ec = this.ecs.get(Thread.currentThread());
+    if (ec == null) {
+      throw new IllegalStateException("No method-level ExtensionContext is bound to " + Thread.currentThread());
+    }
+    return ec;
+  }
+
+  // Runs the supplied Runnable with the supplied method-level ExtensionContext bound to the current thread, and then
+  // restores whatever the current thread had bound before. Unlike accept, this leaves nothing behind in the
+  // ExtensionContext's Store, so it suits pooled threads running many short tasks.
+  final void run(final ExtensionContext ec, final Runnable r) {
+    final Thread t = Thread.currentThread();
+    final ExtensionContext oldEc = this.ecs.put(t, ec);
+    try {
+      r.run();
+    } finally {
+      if (oldEc == null) {
+        this.ecs.remove(t, ec);
+      } else {
+        this.ecs.replace(t, ec, oldEc);
+      }
+    }
+  }
+
+  private final class Binding implements CloseableResource {
+
+    private final Thread t;
+
+    private final ExtensionContext ec;
+
+    private Binding(final Thread t, final ExtensionContext ec) {
+      super();
+      this.t = t;
+      this.ec = ec;
+    }
+
+    @Override // CloseableResource
+    public final void close() {
+      ecs.remove(this.t, this.ec);
+    }
+
+  }
+
+}
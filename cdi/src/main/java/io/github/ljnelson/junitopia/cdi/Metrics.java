@@ -0,0 +1,197 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+// Cheap, always-on counters behind CdiSupportMXBean. LongAdders keep concurrently executing tests from contending on
+// them.
+final class Metrics implements CdiSupportMXBean {
+
+  private static final Logger LOGGER = getLogger(Metrics.class.getName());
+
+  static final String OBJECT_NAME = Metrics.class.getPackage().getName() + ":type=CdiSupport";
+
+  static final Metrics INSTANCE = register(new Metrics());
+
+  private final LongAdder containersCreated;
+
+  private final LongAdder containersClosed;
+
+  private final LongAdder initializeNanos;
+
+  private final LongAdder closeNanos;
+
+  private final LongAdder parameterResolutionHits;
+
+  private final LongAdder parameterResolutionMisses;
+
+  private final LongAdder unsatisfiedFallbacks;
+
+  private final LongAdder ambiguousFallbacks;
+
+  private final LongAdder inaccessibleFallbacks;
+
+  private final LongAdder liveTestScopedInstances;
+
+  private final LongAdder admissions;
+
+  private final LongAdder admissionWaitNanos;
+
+  private Metrics() {
+    super();
+    this.containersCreated = new LongAdder();
+    this.containersClosed = new LongAdder();
+    this.initializeNanos = new LongAdder();
+    this.closeNanos = new LongAdder();
+    this.parameterResolutionHits = new LongAdder();
+    this.parameterResolutionMisses = new LongAdder();
+    this.unsatisfiedFallbacks = new LongAdder();
+    this.ambiguousFallbacks = new LongAdder();
+    this.inaccessibleFallbacks = new LongAdder();
+    this.liveTestScopedInstances = new LongAdder();
+    this.admissions = new LongAdder();
+    this.admissionWaitNanos = new LongAdder();
+  }
+
+  final void initialized(final long nanos) {
+    this.containersCreated.increment();
+    this.initializeNanos.add(nanos);
+  }
+
+  final void closed(final long nanos) {
+    this.containersClosed.increment();
+    this.closeNanos.add(nanos);
+  }
+
+  final void resolved(final boolean hit) {
+    (hit ? this.parameterResolutionHits : this.parameterResolutionMisses).increment();
+  }
+
+  final void unsatisfied() {
+    this.unsatisfiedFallbacks.increment();
+  }
+
+  final void ambiguous() {
+    this.ambiguousFallbacks.increment();
+  }
+
+  final void inaccessible() {
+    this.inaccessibleFallbacks.increment();
+  }
+
+  final void created() {
+    this.liveTestScopedInstances.increment();
+  }
+
+  final void destroyed() {
+    this.liveTestScopedInstances.decrement();
+  }
+
+  final void admitted(final long nanos) {
+    this.admissions.increment();
+    this.admissionWaitNanos.add(nanos);
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getContainersCreated() {
+    return this.containersCreated.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getContainersClosed() {
+    return this.containersClosed.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getInitializeNanos() {
+    return this.initializeNanos.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getCloseNanos() {
+    return this.closeNanos.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getParameterResolutionHits() {
+    return this.parameterResolutionHits.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getParameterResolutionMisses() {
+    return this.parameterResolutionMisses.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getUnsatisfiedFallbacks() {
+    return this.unsatisfiedFallbacks.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getAmbiguousFallbacks() {
+    return this.ambiguousFallbacks.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getInaccessibleFallbacks() {
+    return this.inaccessibleFallbacks.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getLiveTestScopedInstances() {
+    return this.liveTestScopedInstances.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getAdmissions() {
+    return this.admissions.sum();
+  }
+
+  @Override // CdiSupportMXBean
+  public final long getAdmissionWaitNanos() {
+    return this.admissionWaitNanos.sum();
+  }
+
+  private static final Metrics register(final Metrics metrics) {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+    } catch (final InstanceAlreadyExistsException e) {
+      // Probably this class was loaded more than once, by different ClassLoaders. The first one wins.
+      if (LOGGER.isLoggable(DEBUG)) {
+        LOGGER.log(DEBUG, e.getMessage(), e);
+      }
+    } catch (final JMException | RuntimeException e) {
+      // JMX is optional; not being able to use it must not break any tests.
+      if (LOGGER.isLoggable(WARNING)) {
+        LOGGER.log(WARNING, "Could not register " + OBJECT_NAME, e);
+      }
+    }
+    return metrics;
+  }
+
+}
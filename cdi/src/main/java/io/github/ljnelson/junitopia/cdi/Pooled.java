@@ -0,0 +1,44 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// Placed on the class of a @TestScoped managed bean whose instances are expensive to create: when a test invocation is
+// over, instead of being destroyed, an instance has its Reset method called and is kept for a later invocation in the
+// same SeContainer. At most value() instances are kept. An instance whose Reset method throws is destroyed instead. Kept
+// instances are destroyed when the SeContainer shuts down. A class without an accessible Reset method is not pooled.
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Pooled {
+
+  int value() default 4;
+
+  // Placed on a no-argument method of a Pooled bean class that returns an instance to the state a new one would have.
+  @Documented
+  @Retention(RUNTIME)
+  @Target(METHOD)
+  public @interface Reset {
+
+  }
+
+}
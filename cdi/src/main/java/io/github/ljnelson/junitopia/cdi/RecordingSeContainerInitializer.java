@@ -0,0 +1,168 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Annotation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.Extension;
+
+// An SeContainerInitializer that records, in order, every configuration call made against it so that two
+// SeContainerInitializers configured identically can be recognized as such. SeContainerInitializer offers no way to
+// read back its configuration, so this is the only portable way to do it.
+final class RecordingSeContainerInitializer extends SeContainerInitializer {
+
+  private final SeContainerInitializer delegate;
+
+  private final List<Object> calls;
+
+  RecordingSeContainerInitializer(final SeContainerInitializer delegate) {
+    super();
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.calls = Collections.synchronizedList(new ArrayList<>());
+    this.calls.add(delegate.getClass());
+  }
+
+  final Object fingerprint() {
+    synchronized (this.calls) {
+      return List.copyOf(this.calls);
+    }
+  }
+
+  private final RecordingSeContainerInitializer record(final String name, final Object... arguments) {
+    final List<Object> call = new ArrayList<>(arguments.length + 1);
+    call.add(name);
+    for (final Object argument : arguments) {
+      call.add(argument instanceof Object[] ? Arrays.asList((Object[])argument) : argument);
+    }
+    this.calls.add(Collections.unmodifiableList(call));
+    return this;
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addBeanClasses(final Class<?>... classes) {
+    this.delegate.addBeanClasses(classes);
+    return this.record("addBeanClasses", (Object)classes.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addPackages(final Class<?>... packageClasses) {
+    this.delegate.addPackages(packageClasses);
+    return this.record("addPackages", (Object)packageClasses.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addPackages(final boolean scanRecursively, final Class<?>... packageClasses) {
+    this.delegate.addPackages(scanRecursively, packageClasses);
+    return this.record("addPackages", scanRecursively, packageClasses.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addPackages(final Package... packages) {
+    this.delegate.addPackages(packages);
+    return this.record("addPackages", (Object)packages.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addPackages(final boolean scanRecursively, final Package... packages) {
+    this.delegate.addPackages(scanRecursively, packages);
+    return this.record("addPackages", scanRecursively, packages.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addExtensions(final Extension... extensions) {
+    this.delegate.addExtensions(extensions);
+    // Extension instances are compared using their own equals(Object) implementations, which will usually be identity.
+    return this.record("addExtensions", (Object)extensions.clone());
+  }
+
+  @Override // SeContainerInitializer
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public final SeContainerInitializer addExtensions(final Class<? extends Extension>... extensions) {
+    this.delegate.addExtensions(extensions);
+    return this.record("addExtensions", (Object)extensions.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer enableInterceptors(final Class<?>... interceptorClasses) {
+    this.delegate.enableInterceptors(interceptorClasses);
+    return this.record("enableInterceptors", (Object)interceptorClasses.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer enableDecorators(final Class<?>... decoratorClasses) {
+    this.delegate.enableDecorators(decoratorClasses);
+    return this.record("enableDecorators", (Object)decoratorClasses.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer selectAlternatives(final Class<?>... alternativeClasses) {
+    this.delegate.selectAlternatives(alternativeClasses);
+    return this.record("selectAlternatives", (Object)alternativeClasses.clone());
+  }
+
+  @Override // SeContainerInitializer
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public final SeContainerInitializer selectAlternativeStereotypes(final Class<? extends Annotation>... alternativeStereotypeClasses) {
+    this.delegate.selectAlternativeStereotypes(alternativeStereotypeClasses);
+    return this.record("selectAlternativeStereotypes", (Object)alternativeStereotypeClasses.clone());
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer addProperty(final String key, final Object value) {
+    this.delegate.addProperty(key, value);
+    return this.record("addProperty", key, value);
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer setProperties(final Map<String, Object> properties) {
+    this.delegate.setProperties(properties);
+    return this.record("setProperties", properties == null ? null : new HashMap<>(properties));
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer disableDiscovery() {
+    this.delegate.disableDiscovery();
+    return this.record("disableDiscovery");
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainerInitializer setClassLoader(final ClassLoader classLoader) {
+    this.delegate.setClassLoader(classLoader);
+    return this.record("setClassLoader", classLoader);
+  }
+
+  @Override // SeContainerInitializer
+  public final SeContainer initialize() {
+    return this.delegate.initialize();
+  }
+
+  @Override // Object
+  public final String toString() {
+    return this.delegate.toString();
+  }
+
+}
@@ -0,0 +1,131 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Annotation;
+
+import java.lang.reflect.Type;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+// A cache of typesafe resolution results, including unsatisfied ones, valid for exactly one BeanManager. Meant to live
+// in the same Store as the SeContainer whose BeanManager it uses, so that it is cleared when that SeContainer is closed.
+final class Resolutions implements CloseableResource {
+
+  private final BeanManager bm;
+
+  private final ConcurrentMap<Key, Optional<Bean<?>>> resolutions;
+
+  Resolutions(final BeanManager bm) {
+    super();
+    this.bm = Objects.requireNonNull(bm, "bm");
+    this.resolutions = new ConcurrentHashMap<>();
+  }
+
+  // Returns the Bean that typesafe resolution selects for the supplied type and qualifiers, or an empty Optional if
+  // there is none. Ambiguous resolutions are not cached; they fail the same way BeanManager#resolve(Set) does.
+  final Optional<Bean<?>> resolve(final Type type, final Annotation[] qualifiers) {
+    final Key key = new Key(type, qualifiers);
+    Optional<Bean<?>> resolution = this.resolutions.get(key);
+    if (resolution == null) {
+      resolution = Optional.ofNullable(this.bm.resolve(this.bm.getBeans(type, qualifiers)));
+      final Optional<Bean<?>> existing = this.resolutions.putIfAbsent(key, resolution);
+      if (existing != null) {
+        resolution = existing;
+      }
+    }
+    return resolution;
+  }
+
+  @Override // CloseableResource
+  public final void close() {
+    this.resolutions.clear();
+  }
+
+  // The qualifiers are compared as a set, but kept as the supplied array rather than copied into one: in practice that
+  // array is one InjectionPoints interned, and is never modified, so the same one comes back on every lookup for a
+  // given parameter, and most comparisons end at the identity check.
+  private static final class Key {
+
+    private final Type type;
+
+    private final Annotation[] qualifiers;
+
+    private final int hashCode;
+
+    private Key(final Type type, final Annotation[] qualifiers) {
+      super();
+      this.type = Objects.requireNonNull(type, "type");
+      this.qualifiers = Objects.requireNonNull(qualifiers, "qualifiers");
+      int hashCode = 0;
+      for (final Annotation qualifier : qualifiers) {
+        hashCode += qualifier.hashCode(); // as Set#hashCode() would, so that order does not matter
+      }
+      this.hashCode = 31 * type.hashCode() + hashCode;
+    }
+
+    @Override // Object
+    public final int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override // Object
+    public final boolean equals(final Object other) {
+      if (other == this) {
+        return true;
+      } else if (other != null && other.getClass() == this.getClass()) {
+        final Key her = (Key)other;
+        return
+          this.hashCode == her.hashCode &&
+          this.type.equals(her.type) &&
+          sameQualifiers(this.qualifiers, her.qualifiers);
+      } else {
+        return false;
+      }
+    }
+
+    private static final boolean sameQualifiers(final Annotation[] qs0, final Annotation[] qs1) {
+      if (qs0 == qs1) {
+        return true;
+      } else if (qs0.length != qs1.length) {
+        return false;
+      }
+      // There are rarely more than one or two qualifiers, and a qualifier is never repeated, so a nested loop is fine.
+      for (final Annotation q0 : qs0) {
+        boolean found = false;
+        for (final Annotation q1 : qs1) {
+          if (q0.equals(q1)) {
+            found = true;
+            break;
+          }
+        }
+        if (!found) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+}
@@ -27,25 +27,65 @@ import static java.lang.System.getLogger;
 
 import static java.lang.System.Logger.Level.DEBUG;
 
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.CLOSED;
+
 final class SeContainerCloser implements CloseableResource {
 
   private static final Logger LOGGER = getLogger(SeContainerCloser.class.getName());
 
   private final Supplier<?> instanceSupplier;
 
+  private final Supplier<? extends Admission.Permit> permitSupplier;
+
+  private final BackgroundCloser backgroundCloser;
+
   SeContainerCloser(final Supplier<?> instanceSupplier) {
+    this(instanceSupplier, () -> null, null);
+  }
+
+  // The Permit, if any, is closed once the SeContainer is. If backgroundCloser is non-null, the SeContainer will be
+  // closed asynchronously by it.
+  SeContainerCloser(final Supplier<?> instanceSupplier,
+                    final Supplier<? extends Admission.Permit> permitSupplier,
+                    final BackgroundCloser backgroundCloser) {
     super();
     this.instanceSupplier = Objects.requireNonNull(instanceSupplier, "instanceSupplier");
+    this.permitSupplier = Objects.requireNonNull(permitSupplier, "permitSupplier");
+    this.backgroundCloser = backgroundCloser;
   }
 
   @Override // CloseableResource
   public final void close() {
     final Object seContainer = this.instanceSupplier.get();
+    final Admission.Permit permit = this.permitSupplier.get();
     if (seContainer instanceof SeContainer) {
-      if (LOGGER.isLoggable(DEBUG)) {
-        LOGGER.log(DEBUG, "Closing " + seContainer);
+      if (this.backgroundCloser == null) {
+        close((SeContainer)seContainer, permit);
+      } else {
+        if (LOGGER.isLoggable(DEBUG)) {
+          LOGGER.log(DEBUG, "Closing " + seContainer + " in the background");
+        }
+        this.backgroundCloser.close(() -> close((SeContainer)seContainer, permit));
+      }
+    } else if (permit != null) {
+      permit.close();
+    }
+  }
+
+  private static final void close(final SeContainer seContainer, final Admission.Permit permit) {
+    if (LOGGER.isLoggable(DEBUG)) {
+      LOGGER.log(DEBUG, "Closing " + seContainer);
+    }
+    try {
+      final int container = FlightRecorder.container(seContainer.getBeanManager()); // not available once closed
+      final long start = System.nanoTime();
+      seContainer.close();
+      Metrics.INSTANCE.closed(System.nanoTime() - start);
+      FlightRecorder.INSTANCE.record(CLOSED, null, null, container);
+    } finally {
+      if (permit != null) {
+        permit.close();
       }
-      ((SeContainer)seContainer).close();
     }
   }
 
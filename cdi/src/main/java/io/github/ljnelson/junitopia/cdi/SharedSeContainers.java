@@ -0,0 +1,232 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.inject.se.SeContainer;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+// A reference-counted pool of SeContainers, keyed by the fingerprint of the SeContainerInitializer configuration that
+// produced them. Meant to live in the root ExtensionContext's Store so that it is closed when the engine is done.
+final class SharedSeContainers implements CloseableResource {
+
+  private static final Logger LOGGER = getLogger(SharedSeContainers.class.getName());
+
+  private final int maxIdle;
+
+  // @GuardedBy("this")
+  private final Map<Object, Entry> entries;
+
+  // Entries whose reference count has fallen to zero, least recently released first.
+  // @GuardedBy("this")
+  private final LinkedHashMap<Object, Entry> idle;
+
+  // @GuardedBy("this")
+  private boolean closed;
+
+  SharedSeContainers(final int maxIdle) {
+    super();
+    this.maxIdle = Math.max(0, maxIdle);
+    this.entries = new HashMap<>();
+    this.idle = new LinkedHashMap<>();
+  }
+
+  // Returns a Lease on an SeContainer built from a configuration with the supplied fingerprint, booting one with the
+  // supplied Supplier (and binding it with the supplied Consumer) only if no such SeContainer already exists.
+  final Lease lease(final Object fingerprint,
+                    final Supplier<? extends SeContainer> initializer,
+                    final Consumer<? super ExtensionContext> binder) {
+    Objects.requireNonNull(fingerprint, "fingerprint");
+    final Entry entry;
+    synchronized (this) {
+      if (this.closed) {
+        throw new IllegalStateException("closed");
+      }
+      entry = this.entries.computeIfAbsent(fingerprint, fp -> new Entry(fp, initializer, binder));
+      this.idle.remove(fingerprint);
+      ++entry.references;
+    }
+    try {
+      entry.container(); // boot outside of the lock so unrelated configurations can boot concurrently
+    } catch (final RuntimeException | Error e) {
+      synchronized (this) {
+        --entry.references;
+        this.entries.remove(fingerprint, entry);
+      }
+      throw e;
+    }
+    return new Lease(entry);
+  }
+
+  private final void release(final Entry entry) {
+    final List<Entry> evictees;
+    synchronized (this) {
+      if (--entry.references > 0 || this.closed) {
+        return;
+      }
+      this.idle.put(entry.fingerprint, entry);
+      evictees = new ArrayList<>();
+      final Iterator<Entry> i = this.idle.values().iterator();
+      while (this.idle.size() - evictees.size() > this.maxIdle && i.hasNext()) {
+        final Entry evictee = i.next();
+        i.remove();
+        this.entries.remove(evictee.fingerprint, evictee);
+        evictees.add(evictee);
+      }
+    }
+    for (final Entry evictee : evictees) {
+      if (LOGGER.isLoggable(DEBUG)) {
+        LOGGER.log(DEBUG, "Evicting idle shared SeContainer for " + evictee.fingerprint);
+      }
+      evictee.close();
+    }
+  }
+
+  @Override // CloseableResource
+  public final void close() {
+    final List<Entry> entries;
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      entries = new ArrayList<>(this.entries.values());
+      this.entries.clear();
+      this.idle.clear();
+    }
+    RuntimeException t = null;
+    for (final Entry entry : entries) {
+      try {
+        entry.close();
+      } catch (final RuntimeException e) {
+        if (t == null) {
+          t = e;
+        } else {
+          t.addSuppressed(e);
+        }
+      }
+    }
+    if (t != null) {
+      throw t;
+    }
+  }
+
+  // A CloseableResource that gives back its reference to a shared SeContainer when the Store that holds it is closed.
+  final class Lease implements CloseableResource, Consumer<ExtensionContext> {
+
+    private final Entry entry;
+
+    // @GuardedBy("this")
+    private boolean closed;
+
+    private Lease(final Entry entry) {
+      super();
+      this.entry = entry;
+    }
+
+    final SeContainer container() {
+      return this.entry.container();
+    }
+
+    @Override // Consumer<ExtensionContext>
+    public final void accept(final ExtensionContext methodLevelEc) {
+      this.entry.binder.accept(methodLevelEc);
+    }
+
+    @Override // CloseableResource
+    public final void close() {
+      synchronized (this) {
+        if (this.closed) {
+          return;
+        }
+        this.closed = true;
+      }
+      release(this.entry);
+    }
+
+  }
+
+  private static final class Entry {
+
+    private final Object fingerprint;
+
+    private final Consumer<? super ExtensionContext> binder;
+
+    // @GuardedBy("this")
+    private Supplier<? extends SeContainer> initializer;
+
+    // @GuardedBy("this")
+    private SeContainer container;
+
+    // @GuardedBy("SharedSeContainers.this")
+    private int references;
+
+    private Entry(final Object fingerprint,
+                  final Supplier<? extends SeContainer> initializer,
+                  final Consumer<? super ExtensionContext> binder) {
+      super();
+      this.fingerprint = fingerprint;
+      this.initializer = Objects.requireNonNull(initializer, "initializer");
+      this.binder = Objects.requireNonNull(binder, "binder");
+    }
+
+    private final synchronized SeContainer container() {
+      if (this.container == null) {
+        if (this.initializer == null) {
+          throw new IllegalStateException("closed");
+        }
+        this.container = this.initializer.get();
+        this.initializer = null;
+      }
+      return this.container;
+    }
+
+    private final void close() {
+      final SeContainer container;
+      synchronized (this) {
+        container = this.container;
+        this.container = null;
+        this.initializer = null;
+      }
+      if (container != null) {
+        if (LOGGER.isLoggable(DEBUG)) {
+          LOGGER.log(DEBUG, "Closing shared " + container);
+        }
+        final long start = System.nanoTime();
+        container.close();
+        Metrics.INSTANCE.closed(System.nanoTime() - start);
+      }
+    }
+
+  }
+
+}
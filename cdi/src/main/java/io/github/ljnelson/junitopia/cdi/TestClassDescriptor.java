@@ -0,0 +1,162 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Annotation;
+
+import java.lang.invoke.MethodHandle;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.enterprise.inject.AmbiguousResolutionException;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static io.github.ljnelson.junitopia.cdi.AbstractCdiExtension.creationalContext;
+import static io.github.ljnelson.junitopia.cdi.AbstractCdiExtension.qs;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+import static java.lang.invoke.MethodType.genericMethodType;
+
+// Everything CdiSupport needs to know about a test class in order to create instances of it and to invoke its test
+// methods, computed once per test class per SeContainer.
+final class TestClassDescriptor {
+
+  // Constructors, ordered from most number of parameters to least, then by declaration order. This does not depend on
+  // any SeContainer, so it is computed once per class, period.
+  private static final ClassValue<List<Constructor<?>>> CONSTRUCTORS = new ClassValue<>() {
+      @Override // ClassValue<List<Constructor<?>>>
+      protected final List<Constructor<?>> computeValue(final Class<?> c) {
+        final List<Constructor<?>> cs = new ArrayList<>(Arrays.asList(c.getDeclaredConstructors()));
+        Collections.sort(cs, Comparator.<Constructor<?>>comparingInt(Constructor::getParameterCount).reversed());
+        return Collections.unmodifiableList(cs);
+      }
+    };
+
+  private final Class<?> testClass;
+
+  private final Annotation[] qualifiers;
+
+  private final BeanManager bm;
+
+  private final Bean<?> bean;
+
+  private final boolean unsatisfied;
+
+  private final boolean ambiguous;
+
+  private final boolean normalScoped;
+
+  private final ConcurrentMap<Method, Optional<MethodHandle>> invokers;
+
+  TestClassDescriptor(final Class<?> testClass, final BeanManager bm) {
+    super();
+    this.testClass = Objects.requireNonNull(testClass, "testClass");
+    this.bm = Objects.requireNonNull(bm, "bm");
+    this.qualifiers = qs(testClass, bm);
+    // The @Original bean has the test class' own qualifiers (other than @Default) too, so leave it out.
+    final Set<Bean<?>> beans = new HashSet<>(bm.getBeans(testClass, this.qualifiers));
+    beans.removeIf(b -> b.getQualifiers().contains(Original.Literal.INSTANCE));
+    Bean<?> bean = null;
+    boolean ambiguous = false;
+    if (!beans.isEmpty()) {
+      try {
+        bean = bm.resolve(beans);
+      } catch (final AmbiguousResolutionException e) {
+        ambiguous = true;
+      }
+    }
+    this.bean = bean;
+    this.unsatisfied = beans.isEmpty();
+    this.ambiguous = ambiguous;
+    this.normalScoped = bean != null && bm.isNormalScope(bean.getScope());
+    this.invokers = new ConcurrentHashMap<>();
+  }
+
+  final Class<?> testClass() {
+    return this.testClass;
+  }
+
+  final List<Constructor<?>> constructors() {
+    return constructors(this.testClass);
+  }
+
+  final Annotation[] qualifiers() {
+    return this.qualifiers.clone();
+  }
+
+  // Returns a contextual reference to the test class, whose @Dependent objects are released along with the supplied
+  // ExtensionContext's. Calling this is only sensible if neither unsatisfied() nor ambiguous() returns true.
+  final Object reference(final ExtensionContext ec) {
+    return this.bm.getReference(this.bean, this.testClass, creationalContext(ec, this.bm));
+  }
+
+  final boolean unsatisfied() {
+    return this.unsatisfied;
+  }
+
+  final boolean ambiguous() {
+    return this.ambiguous;
+  }
+
+  // Whether reference() returns a client proxy, which may be kept and reused.
+  final boolean normalScoped() {
+    return this.normalScoped;
+  }
+
+  // Returns a MethodHandle of type (Object, Object[])Object that invokes the supplied instance Method on its first
+  // argument, spreading its second argument as the Method's arguments, or null if the Method could not be made
+  // accessible. The MethodHandle is created once per Method.
+  final MethodHandle invoker(final Method m) {
+    return this.invokers.computeIfAbsent(m, TestClassDescriptor::computeInvoker).orElse(null);
+  }
+
+  static final List<Constructor<?>> constructors(final Class<?> c) {
+    return CONSTRUCTORS.get(c);
+  }
+
+  private static final Optional<MethodHandle> computeInvoker(final Method m) {
+    if (Modifier.isStatic(m.getModifiers()) || !m.trySetAccessible()) {
+      return Optional.empty();
+    }
+    final MethodHandle mh;
+    try {
+      mh = lookup().unreflect(m); // the accessible flag suppresses access checks
+    } catch (final IllegalAccessException e) {
+      return Optional.empty();
+    }
+    final int parameterCount = m.getParameterCount();
+    return Optional.of(mh.asType(genericMethodType(parameterCount + 1)).asSpreader(Object[].class, parameterCount));
+  }
+
+}
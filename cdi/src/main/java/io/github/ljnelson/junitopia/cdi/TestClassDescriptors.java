@@ -0,0 +1,48 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+// A cache of TestClassDescriptors valid for exactly one BeanManager. Meant to live in the same Store as the SeContainer
+// whose BeanManager it uses, so that it is cleared when that SeContainer is closed.
+final class TestClassDescriptors implements CloseableResource {
+
+  private final BeanManager bm;
+
+  private final ConcurrentMap<Class<?>, TestClassDescriptor> descriptors;
+
+  TestClassDescriptors(final BeanManager bm) {
+    super();
+    this.bm = Objects.requireNonNull(bm, "bm");
+    this.descriptors = new ConcurrentHashMap<>();
+  }
+
+  final TestClassDescriptor descriptor(final Class<?> testClass) {
+    return this.descriptors.computeIfAbsent(testClass, c -> new TestClassDescriptor(c, this.bm));
+  }
+
+  @Override // CloseableResource
+  public final void close() {
+    this.descriptors.clear();
+  }
+
+}
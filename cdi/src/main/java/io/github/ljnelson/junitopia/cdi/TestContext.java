@@ -13,68 +13,121 @@
  */
 package io.github.ljnelson.junitopia.cdi;
 
+import java.lang.System.Logger;
+
 import java.lang.annotation.Annotation;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Objects;
 
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import jakarta.enterprise.context.spi.AlterableContext;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 
-import org.junit.jupiter.api.extension.ExtensionContext;
+import jakarta.enterprise.inject.spi.Bean;
+
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
 
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEST_SCOPED_CREATED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEST_SCOPED_DESTROYED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEST_SCOPED_RECYCLED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEST_SCOPED_REUSED;
+
 public class TestContext implements AlterableContext {
 
-  private final Store store;
+  private static final Logger LOGGER = getLogger(TestContext.class.getName());
+
+  // The Pool to use for a Contextual that is not Pooled.
+  private static final Pool<?> NO_POOL = new Pool<>(null, 0, null);
+
+  // How to reset an instance of a Pooled bean class, or null if it cannot be reset.
+  private static final ClassValue<Consumer<Object>> RESETTERS = new ClassValue<>() {
+      @Override
+      protected final Consumer<Object> computeValue(final Class<?> c) {
+        return resetter(c);
+      }
+    };
+
+  private final Supplier<? extends Store> stores;
+
+  // Identifies this TestContext's SeContainer in FlightRecorder events, or 0.
+  private final int container;
+
+  // Instances of Pooled beans between test invocations, for as long as this TestContext (and so its SeContainer)
+  // lives.
+  private final ConcurrentMap<Contextual<?>, Pool<?>> pools;
 
   public TestContext(final Store store) {
+    this(supplier(Objects.requireNonNull(store, "store")));
+  }
+
+  public TestContext(final Supplier<? extends Store> stores) {
+    this(stores, 0);
+  }
+
+  TestContext(final Supplier<? extends Store> stores, final int container) {
     super();
-    this.store = Objects.requireNonNull(store, "store");
+    this.stores = Objects.requireNonNull(stores, "stores");
+    this.container = container;
+    this.pools = new ConcurrentHashMap<>();
   }
 
-  private final Store store() {
-    return this.store;
+  // Every client proxy method invocation on a @TestScoped bean ends up here, so after the first call for a given Store
+  // this is one Store lookup and one ConcurrentMap read: no locks, no allocation.
+  private final Instances instances() {
+    final Store store = this.stores.get();
+    final Instances instances = store.get(this, Instances.class);
+    return instances == null ? store.getOrComputeIfAbsent(this, __ -> new Instances(), Instances.class) : instances;
   }
-  
+
   @Override // AlterableContext
   public final void destroy(final Contextual<?> c) {
-    this.destroy0(c);
-  }
-
-  private final <T> void destroy0(final Contextual<T> c) {
-    @SuppressWarnings("unchecked")
-    final CI<T> ci = (CI<T>)this.store().remove(c);
-    try {
-      c.destroy(ci.i, ci.cc);
-    } finally {
-      ci.cc.release();
+    final ContextualInstance<?> i = this.instances().map.remove(c);
+    if (i != null) {
+      i.destroy(false); // explicitly destroyed, so not recycled
     }
   }
 
   @Override // AlterableContext (Context)
   public final <T> T get(final Contextual<T> c) {
-    return this.get(c, null);
+    @SuppressWarnings("unchecked")
+    final ContextualInstance<T> i = (ContextualInstance<T>)this.instances().map.get(c);
+    return i == null ? null : i.i; // volatile read
   }
 
   @Override // AlterableContext (Context)
   @SuppressWarnings("unchecked")
   public final <T> T get(final Contextual<T> c, final CreationalContext<T> cc) {
     if (cc == null) {
-      final CI<T> ci = (CI<T>)this.store().get(c);
-      return ci == null ? null : ci.i;
+      return this.get(c);
+    }
+    final ConcurrentMap<Contextual<?>, ContextualInstance<?>> map = this.instances().map;
+    ContextualInstance<T> i = (ContextualInstance<T>)map.get(c);
+    if (i == null) {
+      // Contextual#create(CreationalContext) is deliberately not called inside a ConcurrentMap compute method, since it
+      // may well look up other @TestScoped beans. The ContextualInstance makes sure it is called only once.
+      i = new ContextualInstance<>(c, this.pool(c), this.container);
+      final ContextualInstance<T> existing = (ContextualInstance<T>)map.putIfAbsent(c, i);
+      if (existing != null) {
+        i = existing;
+      }
     }
-    return ((CI<T>)this.store().getOrComputeIfAbsent(c, bean -> new CI<>(bean.create(cc), cc))).i;
+    return i.get(cc);
   }
 
   @Override // AlterableContext (Context)
@@ -87,40 +140,274 @@ public class TestContext implements AlterableContext {
     return true;
   }
 
-  private static final class CI<T> {
+  // Destroys the instances of Pooled beans being kept between test invocations. Called when the SeContainer is shutting
+  // down.
+  final void destroyPooledInstances() {
+    RuntimeException t = null;
+    for (final Pool<?> pool : this.pools.values()) {
+      try {
+        pool.clear();
+      } catch (final RuntimeException e) {
+        if (t == null) {
+          t = e;
+        } else {
+          t.addSuppressed(e);
+        }
+      }
+    }
+    if (t != null) {
+      throw t;
+    }
+  }
+
+  // Returns the Pool for the supplied Contextual, or null if it is not Pooled.
+  @SuppressWarnings("unchecked")
+  private final <T> Pool<T> pool(final Contextual<T> c) {
+    final Pool<?> pool = this.pools.computeIfAbsent(c, TestContext::newPool);
+    return pool == NO_POOL ? null : (Pool<T>)pool;
+  }
+
+  private static final Pool<?> newPool(final Contextual<?> c) {
+    if (c instanceof Bean) {
+      final Bean<?> b = (Bean<?>)c;
+      final Class<?> beanClass = b.getBeanClass();
+      // Only managed beans; a producer's bean class is the class that declares it.
+      final Pooled pooled = b.getTypes().contains(beanClass) ? beanClass.getAnnotation(Pooled.class) : null;
+      if (pooled != null && pooled.value() > 0) {
+        final Consumer<Object> resetter = RESETTERS.get(beanClass);
+        if (resetter != null) {
+          return new Pool<>(c, pooled.value(), resetter);
+        }
+      }
+    }
+    return NO_POOL;
+  }
+
+  private static final Consumer<Object> resetter(final Class<?> c) {
+    for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+      for (final Method m : k.getDeclaredMethods()) {
+        if (m.isAnnotationPresent(Pooled.Reset.class) && m.getParameterCount() == 0) {
+          if (!m.trySetAccessible()) {
+            if (LOGGER.isLoggable(WARNING)) {
+              LOGGER.log(WARNING, m + " is not accessible; instances of " + c.getName() + " will not be pooled");
+            }
+            return null;
+          }
+          return i -> {
+            try {
+              m.invoke(i);
+            } catch (final IllegalAccessException e) {
+              throw new IllegalStateException(e.getMessage(), e);
+            } catch (final InvocationTargetException e) {
+              final Throwable cause = e.getCause();
+              if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+              } else if (cause instanceof Error) {
+                throw (Error)cause;
+              }
+              throw new IllegalStateException(cause.getMessage(), cause);
+            }
+          };
+        }
+      }
+    }
+    // Reusing an instance nothing resets would carry its state from one test invocation into the next.
+    if (LOGGER.isLoggable(WARNING)) {
+      LOGGER.log(WARNING,
+                 c.getName() + " has no " + Pooled.Reset.class.getName() + " method; its instances will not be pooled");
+    }
+    return null;
+  }
+
+  private static final Supplier<Store> supplier(final Store store) {
+    return () -> store;
+  }
+
+  // The @TestScoped instances belonging to a single Store, destroyed when that Store is closed.
+  private static final class Instances implements CloseableResource {
+
+    private final ConcurrentMap<Contextual<?>, ContextualInstance<?>> map;
+
+    private Instances() {
+      super();
+      this.map = new ConcurrentHashMap<>();
+    }
+
+    @Override // CloseableResource
+    public final void close() {
+      final ArrayList<ContextualInstance<?>> instances = new ArrayList<>(this.map.values());
+      this.map.clear();
+      RuntimeException t = null;
+      for (final ContextualInstance<?> i : instances) {
+        try {
+          i.destroy(true);
+        } catch (final RuntimeException e) {
+          if (t == null) {
+            t = e;
+          } else {
+            t.addSuppressed(e);
+          }
+        }
+      }
+      if (t != null) {
+        throw t;
+      }
+    }
+
+  }
+
+  private static final Class<?> beanClass(final Contextual<?> c) {
+    return c instanceof Bean ? ((Bean<?>)c).getBeanClass() : null;
+  }
+
+  private static final class ContextualInstance<T> {
+
+    private final Contextual<T> c;
+
+    // null if c is not Pooled
+    private final Pool<T> pool;
+
+    private final int container;
+
+    private volatile T i;
+
+    // @GuardedBy("this")
+    private CreationalContext<T> cc;
+
+    private ContextualInstance(final Contextual<T> c, final Pool<T> pool, final int container) {
+      super();
+      this.c = c;
+      this.pool = pool;
+      this.container = container;
+    }
+
+    private final T get(final CreationalContext<T> cc) {
+      T i = this.i; // volatile read
+      if (i == null) {
+        synchronized (this) {
+          i = this.i; // volatile read
+          if (i == null) {
+            final Kept<T> kept = this.pool == null ? null : this.pool.poll();
+            if (kept == null) {
+              i = this.c.create(cc);
+              FlightRecorder.INSTANCE.record(TEST_SCOPED_CREATED, beanClass(this.c), null, this.container);
+              this.cc = cc;
+            } else {
+              // The supplied CreationalContext goes unused; the pooled instance's own still tracks its dependents.
+              i = kept.i;
+              FlightRecorder.INSTANCE.record(TEST_SCOPED_REUSED, beanClass(this.c), null, this.container);
+              this.cc = kept.cc;
+            }
+            Metrics.INSTANCE.created();
+            this.i = i; // volatile write
+          }
+        }
+      }
+      return i;
+    }
+
+    private final void destroy(final boolean recycle) {
+      final T i;
+      final CreationalContext<T> cc;
+      synchronized (this) {
+        i = this.i;
+        cc = this.cc;
+        this.i = null;
+        this.cc = null;
+      }
+      if (cc != null) {
+        if (recycle && this.pool != null && this.pool.offer(i, cc)) {
+          Metrics.INSTANCE.destroyed();
+          FlightRecorder.INSTANCE.record(TEST_SCOPED_RECYCLED, beanClass(this.c), null, this.container);
+          return;
+        }
+        try {
+          this.c.destroy(i, cc);
+        } finally {
+          Metrics.INSTANCE.destroyed();
+          FlightRecorder.INSTANCE.record(TEST_SCOPED_DESTROYED, beanClass(this.c), null, this.container);
+          cc.release();
+        }
+      }
+    }
+
+  }
+
+  // Reset instances of a Pooled bean, waiting for a test invocation to want one.
+  private static final class Pool<T> {
+
+    private final Contextual<T> c;
+
+    private final int max;
+
+    private final Consumer<Object> resetter;
+
+    // @GuardedBy("this")
+    private final ArrayDeque<Kept<T>> pooled;
+
+    private Pool(final Contextual<T> c, final int max, final Consumer<Object> resetter) {
+      super();
+      this.c = c;
+      this.max = max;
+      this.resetter = resetter;
+      this.pooled = new ArrayDeque<>(max);
+    }
+
+    private final synchronized Kept<T> poll() {
+      return this.pooled.pollFirst();
+    }
+
+    // Resets the supplied instance and keeps it if there is room, returning true, or returns false, in which case the
+    // caller is to destroy it.
+    private final boolean offer(final T i, final CreationalContext<T> cc) {
+      synchronized (this) {
+        if (this.pooled.size() >= this.max) {
+          return false;
+        }
+      }
+      try {
+        this.resetter.accept(i);
+      } catch (final RuntimeException e) {
+        if (LOGGER.isLoggable(WARNING)) {
+          LOGGER.log(WARNING, "Could not reset " + i + "; destroying it", e);
+        }
+        return false;
+      }
+      synchronized (this) {
+        // Another invocation may have filled the last slot while i was being reset.
+        return this.pooled.size() < this.max && this.pooled.offerFirst(new Kept<>(i, cc));
+      }
+    }
+
+    private final void clear() {
+      final ArrayList<Kept<T>> pooled;
+      synchronized (this) {
+        pooled = new ArrayList<>(this.pooled);
+        this.pooled.clear();
+      }
+      for (final Kept<T> p : pooled) {
+        try {
+          this.c.destroy(p.i, p.cc);
+        } finally {
+          p.cc.release();
+        }
+      }
+    }
+
+  }
+
+  private static final class Kept<T> {
 
     private final T i;
 
     private final CreationalContext<T> cc;
-    
-    private CI(final T i, final CreationalContext<T> cc) {
+
+    private Kept(final T i, final CreationalContext<T> cc) {
       super();
       this.i = i;
       this.cc = cc;
     }
 
-    @Override
-    public int hashCode() {
-      int hashCode = 17;
-      int c = this.i == null ? 0 : this.i.hashCode();
-      hashCode = 37 * hashCode + c;
-      c = this.cc == null ? 0 : this.cc.hashCode();
-      hashCode = 37 * hashCode + c;
-      return hashCode;
-    }
-
-    @Override
-    public boolean equals(final Object other) {
-      if (other == this) {
-        return true;
-      } else if (other != null && other.getClass() == this.getClass()) {
-        final CI<?> her = (CI<?>)other;
-        return Objects.equals(this.i, her.i) &&
-          Objects.equals(this.cc, her.cc);
-      } else {
-        return false;
-      }
-    }
   }
 
 }
@@ -0,0 +1,24 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.concurrent.ExecutorService;
+
+// An ExecutorService, available for injection into anything that runs during a test invocation, whose tasks see that
+// invocation's @TestScoped beans (and ExtensionContext, TestInfo and TestReporter) no matter which thread runs them.
+// Tasks run on virtual threads where the JVM has them, and in the common ForkJoinPool otherwise. It is @TestScoped
+// itself: when the invocation is over it stops accepting tasks and waits for those it accepted to finish.
+public interface TestExecutor extends ExecutorService {
+
+}
@@ -19,6 +19,8 @@ import java.lang.annotation.Target;
 
 import jakarta.enterprise.context.NormalScope;
 
+import jakarta.enterprise.util.AnnotationLiteral;
+
 import static java.lang.annotation.ElementType.FIELD;
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.ElementType.TYPE;
@@ -31,4 +33,16 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Target({ FIELD, METHOD, TYPE })
 public @interface TestScoped {
 
+  public static final class Literal extends AnnotationLiteral<TestScoped> implements TestScoped {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Literal INSTANCE = new Literal();
+
+    private Literal() {
+      super();
+    }
+
+  }
+
 }
@@ -0,0 +1,169 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.invoke.MethodHandle;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import jakarta.enterprise.context.spi.Context;
+
+import jakarta.enterprise.inject.Instance;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+
+import static io.github.ljnelson.junitopia.cdi.AbstractCdiExtension.applicationContext;
+
+// What CdiSupport works out while handling the first invocation of a test template (a @RepeatedTest, a
+// @ParameterizedTest, or any other @TestTemplate method) that holds for every other invocation of it, too: which Store,
+// if any, holds the SeContainer they share, which Beans the template method's parameters resolve to, and how to invoke
+// the template method. (The last two are recorded per SeContainer, so they only pay off when the invocations share
+// one.) Lives in the test template's own Store, so it is discarded once the last invocation is over.
+final class TestTemplatePlan {
+
+  private final Method templateMethod;
+
+  private final Store store;
+
+  private final boolean isolated;
+
+  // Indexed by parameter index.
+  private final Resolution[] resolutions;
+
+  private volatile Dispatch dispatch;
+
+  TestTemplatePlan(final Method templateMethod, final Store store, final boolean isolated) {
+    super();
+    this.templateMethod = Objects.requireNonNull(templateMethod, "templateMethod");
+    this.store = store;
+    this.isolated = isolated;
+    this.resolutions = new Resolution[templateMethod.getParameterCount()];
+  }
+
+  // The Store holding the SeContainer every invocation of the test template uses, or null if each invocation has its
+  // own.
+  final Store store() {
+    return this.store;
+  }
+
+  // Whether each invocation happens on a fresh thread of its own.
+  final boolean isolated() {
+    return this.isolated;
+  }
+
+  // Returns the Bean that typesafe resolution selected for the parameter of the template method at the supplied index in
+  // the supplied BeanManager's SeContainer, an empty Optional if it selected none, or null if it has not been recorded
+  // yet. (Weld hands out a new BeanManager each time it is asked, so the SeContainer is told by its application context.)
+  final Optional<Bean<?>> resolution(final int index, final BeanManager bm) {
+    final Resolution r = this.resolutions[index]; // racy but benign; Resolution is immutable
+    return r == null || r.applicationContext != applicationContext(bm) ? null : r.bean;
+  }
+
+  final Optional<Bean<?>> resolution(final int index, final BeanManager bm, final Optional<Bean<?>> bean) {
+    this.resolutions[index] = new Resolution(applicationContext(bm), bean);
+    return bean;
+  }
+
+  // Whether the supplied Executable is the template method, and so a resolution of one of its parameters may be recorded.
+  final boolean templateMethod(final Executable e) {
+    return this.templateMethod.equals(e);
+  }
+
+  // Returns the Dispatch worked out for an invocation that used the supplied Instance<Object>, or null if there is none.
+  final Dispatch dispatch(final Instance<Object> i) {
+    final Dispatch d = this.dispatch;
+    return d == null || d.i != i ? null : d;
+  }
+
+  final Dispatch dispatch(final Dispatch dispatch) {
+    this.dispatch = dispatch;
+    return dispatch;
+  }
+
+  private static final class Resolution {
+
+    private final Context applicationContext;
+
+    private final Optional<Bean<?>> bean;
+
+    private Resolution(final Context applicationContext, final Optional<Bean<?>> bean) {
+      super();
+      this.applicationContext = applicationContext;
+      this.bean = bean;
+    }
+
+  }
+
+  // How CdiSupport invokes a test method given a particular Instance<Object>: on a contextual reference to the test
+  // class, using a MethodHandle, or, if the FlightRecorder.Event naming the reason is not null, by letting JUnit proceed
+  // with the invocation itself.
+  static final class Dispatch {
+
+    private final Instance<Object> i;
+
+    private final FlightRecorder.Event fallback;
+
+    private final TestClassDescriptor d;
+
+    private final MethodHandle invoker;
+
+    // A client proxy, which serves every invocation, if the test class is normal-scoped.
+    private final Object reference;
+
+    Dispatch(final Instance<Object> i, final FlightRecorder.Event fallback) {
+      super();
+      this.i = Objects.requireNonNull(i, "i");
+      this.fallback = Objects.requireNonNull(fallback, "fallback");
+      this.d = null;
+      this.invoker = null;
+      this.reference = null;
+    }
+
+    Dispatch(final Instance<Object> i,
+             final TestClassDescriptor d,
+             final MethodHandle invoker,
+             final ExtensionContext ec) {
+      super();
+      this.i = Objects.requireNonNull(i, "i");
+      this.fallback = null;
+      this.d = Objects.requireNonNull(d, "d");
+      this.invoker = Objects.requireNonNull(invoker, "invoker");
+      this.reference = d.normalScoped() ? d.reference(ec) : null;
+    }
+
+    final FlightRecorder.Event fallback() {
+      return this.fallback;
+    }
+
+    // A MethodHandle of type (Object, Object[])Object; see TestClassDescriptor#invoker(Method).
+    final MethodHandle invoker() {
+      return this.invoker;
+    }
+
+    // Returns a contextual reference to the test class for the invocation represented by the supplied ExtensionContext.
+    final Object reference(final ExtensionContext ec) {
+      return this.reference == null ? this.d.reference(ec) : this.reference;
+    }
+
+  }
+
+}
@@ -0,0 +1,108 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.System.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import java.util.concurrent.ThreadFactory;
+
+import static java.lang.System.getLogger;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import static java.lang.invoke.MethodType.methodType;
+
+// Runs work on virtual threads, one per task, where the running JVM has them. This module targets Java 11, so the
+// Thread.Builder API is reached through MethodHandles, once, and only its ThreadFactory is kept.
+final class VirtualThreads {
+
+  private static final Logger LOGGER = getLogger(VirtualThreads.class.getName());
+
+  private static final ThreadFactory FACTORY = factory();
+
+  private VirtualThreads() {
+    super();
+  }
+
+  static final boolean available() {
+    return FACTORY != null;
+  }
+
+  // Starts the supplied Runnable on a new virtual thread, for use as an Executor. Virtual threads must be available.
+  static final void start(final Runnable r) {
+    FACTORY.newThread(r).start();
+  }
+
+  // Runs the supplied Callable on a new virtual thread, waiting for it to finish, and returns what it returns or throws
+  // what it throws. If virtual threads are not available, runs it on the current thread.
+  static final <T> T call(final Callable<? extends T> c) throws Throwable {
+    if (FACTORY == null) {
+      return c.call();
+    }
+    final Object[] result = new Object[1];
+    final Throwable[] thrown = new Throwable[1];
+    final Thread t = FACTORY.newThread(() -> {
+        try {
+          result[0] = c.call();
+        } catch (final Throwable e) {
+          thrown[0] = e;
+        }
+      });
+    t.start();
+    try {
+      t.join();
+    } catch (final InterruptedException e) {
+      t.interrupt();
+      throw e;
+    }
+    // Thread#join establishes happens-before with everything the virtual thread did.
+    if (thrown[0] != null) {
+      throw thrown[0];
+    }
+    @SuppressWarnings("unchecked")
+    final T returnValue = (T)result[0];
+    return returnValue;
+  }
+
+  private static final ThreadFactory factory() {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      final MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", methodType(ofVirtualClass));
+      final MethodHandle name =
+        lookup.findVirtual(builderClass, "name", methodType(builderClass, String.class, long.class));
+      final MethodHandle factory = lookup.findVirtual(builderClass, "factory", methodType(ThreadFactory.class));
+      return (ThreadFactory)factory.invoke(name.invoke(ofVirtual.invoke(), "junitopia-cdi-test-", 0L));
+    } catch (final Throwable e) {
+      // Java 11 through 20 (or 19 and 20 without --enable-preview).
+      if (LOGGER.isLoggable(DEBUG)) {
+        LOGGER.log(DEBUG, "Virtual threads are not available", e);
+      }
+      return null;
+    }
+  }
+
+  // Like java.util.concurrent.Callable, but able to throw any Throwable, as MethodHandle#invokeExact can.
+  @FunctionalInterface
+  static interface Callable<T> {
+
+    T call() throws Throwable;
+
+  }
+
+}
@@ -13,6 +13,8 @@
  */
 module io.github.ljnelson.junitopia.cdi {
 
+  requires java.management;
+
   requires transitive jakarta.cdi;
   requires transitive jakarta.inject;
   requires transitive org.junit.jupiter.api;
@@ -0,0 +1,81 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+// A minimal, non-hierarchical Store for tests that exercise package-private machinery outside of a running engine.
+final class SimpleStore implements Store {
+
+  private final ConcurrentMap<Object, Object> map;
+
+  SimpleStore() {
+    super();
+    this.map = new ConcurrentHashMap<>();
+  }
+
+  @Override // Store
+  public final Object get(final Object key) {
+    return this.map.get(key);
+  }
+
+  @Override // Store
+  public final <V> V get(final Object key, final Class<V> requiredType) {
+    return requiredType.cast(this.get(key));
+  }
+
+  @Override // Store
+  public final <K, V> Object getOrComputeIfAbsent(final K key, final Function<K, V> defaultCreator) {
+    @SuppressWarnings("unchecked")
+    final Function<Object, Object> f = k -> defaultCreator.apply((K)k);
+    return this.map.computeIfAbsent(key, f);
+  }
+
+  @Override // Store
+  public final <K, V> V getOrComputeIfAbsent(final K key, final Function<K, V> defaultCreator, final Class<V> requiredType) {
+    return requiredType.cast(this.getOrComputeIfAbsent(key, defaultCreator));
+  }
+
+  @Override // Store
+  public final void put(final Object key, final Object value) {
+    this.map.put(key, value);
+  }
+
+  @Override // Store
+  public final Object remove(final Object key) {
+    return this.map.remove(key);
+  }
+
+  @Override // Store
+  public final <V> V remove(final Object key, final Class<V> requiredType) {
+    return requiredType.cast(this.remove(key));
+  }
+
+  // Does what JUnit does when an ExtensionContext is closed.
+  final void close() throws Throwable {
+    for (final Object value : this.map.values()) {
+      if (value instanceof CloseableResource) {
+        ((CloseableResource)value).close();
+      }
+    }
+    this.map.clear();
+  }
+
+}
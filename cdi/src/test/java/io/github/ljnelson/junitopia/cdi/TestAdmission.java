@@ -0,0 +1,104 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.BeforeDestroyed;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.Initialized;
+
+import jakarta.enterprise.event.Observes;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+
+// Each test method, though they run concurrently, gets its own SeContainer, and at most one may be alive at a time.
+@ExtendWith(CdiSupport.class)
+@Tag("admission") // run with jakarta.enterprise.inject.se.SeContainer.admission.live=1
+@TestInstance(PER_METHOD)
+class TestAdmission {
+
+  private static final AtomicInteger live = new AtomicInteger();
+
+  private static final AtomicInteger booted = new AtomicInteger();
+
+  TestAdmission() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Observer.class);
+  }
+
+  @AfterAll
+  static void assertAdmitted() {
+    assertEquals(4, booted.get());
+    assertTrue(Metrics.INSTANCE.getAdmissions() >= 4);
+  }
+
+  @Test
+  void test0(final Observer o) {
+    assertEquals(1, live.get());
+  }
+
+  @Test
+  void test1(final Observer o) {
+    assertEquals(1, live.get());
+  }
+
+  @Test
+  void test2(final Observer o) {
+    assertEquals(1, live.get());
+  }
+
+  @Test
+  void test3(final Observer o) {
+    assertEquals(1, live.get());
+  }
+
+  @Dependent
+  public static class Observer {
+
+    public Observer() {
+      super();
+    }
+
+    private static void booted(@Observes @Initialized(ApplicationScoped.class) final Object event) {
+      booted.incrementAndGet();
+      live.incrementAndGet();
+    }
+
+    private static void closing(@Observes @BeforeDestroyed(ApplicationScoped.class) final Object event) {
+      live.decrementAndGet();
+    }
+
+  }
+
+}
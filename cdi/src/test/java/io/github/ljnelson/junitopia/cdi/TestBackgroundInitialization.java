@@ -0,0 +1,131 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.Destroyed;
+import jakarta.enterprise.context.Initialized;
+
+import jakarta.enterprise.event.Observes;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(CdiSupport.class)
+@Tag("background") // run with jakarta.enterprise.inject.se.SeContainer.initialization=background and ...close=background
+class TestBackgroundInitialization {
+
+  private static final Set<String> bootThreadNames = ConcurrentHashMap.newKeySet();
+
+  private static final Set<String> closeThreadNames = ConcurrentHashMap.newKeySet();
+
+  private static final AtomicInteger boots = new AtomicInteger();
+
+  private static final AtomicInteger beforeEachCalls = new AtomicInteger();
+
+  @Inject
+  private MyBean bean;
+
+  @Inject
+  TestBackgroundInitialization() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(MyBean.class);
+  }
+
+  // The boot starts before @BeforeEach methods run (but after @BeforeAll methods, which may configure the
+  // SeContainerInitializer), so it finishes while this one is still waiting for it.
+  @BeforeEach
+  void assertBootOverlapsBeforeEach() throws InterruptedException {
+    final int calls = beforeEachCalls.incrementAndGet();
+    for (int i = 0; i < 100 && boots.get() < calls; i++) {
+      Thread.sleep(100L);
+    }
+    assertTrue(boots.get() >= calls);
+  }
+
+  @AfterAll
+  static void assertClosedInTheBackground() throws InterruptedException {
+    // Each test method's SeContainer is closed asynchronously when its Store is closed.
+    for (int i = 0; i < 100 && closeThreadNames.isEmpty(); i++) {
+      Thread.sleep(100L);
+    }
+    assertFalse(closeThreadNames.isEmpty());
+    for (final String name : closeThreadNames) {
+      assertTrue(name.startsWith("junitopia-cdi-close-"), name);
+    }
+  }
+
+  @Test
+  void testBootedInTheBackground0() {
+    this.assertBootedInTheBackground();
+  }
+
+  @Test
+  void testBootedInTheBackground1() {
+    this.assertBootedInTheBackground();
+  }
+
+  private final void assertBootedInTheBackground() {
+    assertNotNull(this.bean);
+    assertFalse(bootThreadNames.isEmpty());
+    for (final String name : bootThreadNames) {
+      assertTrue(name.startsWith("junitopia-cdi-boot-"), name);
+    }
+  }
+
+  @Dependent
+  static class MyBean {
+
+    @Inject
+    MyBean() {
+      super();
+    }
+
+    private static void recordBootThread(@Observes @Initialized(ApplicationScoped.class) final Object event) {
+      bootThreadNames.add(Thread.currentThread().getName());
+      boots.incrementAndGet();
+    }
+
+    private static void recordCloseThread(@Observes @Destroyed(ApplicationScoped.class) final Object event) {
+      closeThreadNames.add(Thread.currentThread().getName());
+    }
+
+  }
+
+}
@@ -0,0 +1,65 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Booting in the background must not take away the chance @BeforeEach methods have to configure the
+// SeContainerInitializer; here the SeContainer is booted only once they are done.
+@ExtendWith(CdiSupport.class)
+@Tag("background") // run with jakarta.enterprise.inject.se.SeContainer.initialization=background and ...close=background
+class TestBackgroundInitializationConfiguredBeforeEach {
+
+  @Inject
+  private MyBean bean;
+
+  @Inject
+  TestBackgroundInitializationConfiguredBeforeEach() {
+    super();
+  }
+
+  @BeforeEach
+  void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(MyBean.class);
+  }
+
+  @Test
+  void testConfiguredByBeforeEach() {
+    assertNotNull(this.bean);
+  }
+
+  @Dependent
+  static class MyBean {
+
+    @Inject
+    MyBean() {
+      super();
+    }
+
+  }
+
+}
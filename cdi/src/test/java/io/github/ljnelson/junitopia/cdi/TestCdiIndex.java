@@ -0,0 +1,106 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Constructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The test classes are compiled with the junitopia-cdi-index annotation processor (see pom.xml), so this checks both
+// what it writes and how CdiIndex reads it.
+final class TestCdiIndex {
+
+  private TestCdiIndex() {
+    super();
+  }
+
+  @Test
+  void testBeanClassesIndexed() {
+    final CdiIndex index = CdiIndex.of(this.getClass());
+    assertSame(index, CdiIndex.of(TestIndexDiscovery.class));
+    List<String> beanClassNames = names(index.beanClasses(TestIndexDiscovery.class));
+    assertTrue(beanClassNames.contains(TestIndexDiscovery.MyBean.class.getName()));
+    // Not a bean: no bean-defining annotation, producer or observer.
+    assertFalse(beanClassNames.contains(Injected.class.getName()));
+    // Test classes, and beans nested in them, are private to their own test class.
+    assertFalse(beanClassNames.contains(TestUseCase00.class.getName()));
+    assertFalse(beanClassNames.contains(TestUseCase04.class.getName() + "$MyBean"));
+    beanClassNames = names(index.beanClasses(TestUseCase04.class));
+    assertTrue(beanClassNames.contains(TestUseCase04.class.getName() + "$MyBean"));
+    assertFalse(beanClassNames.contains(TestIndexDiscovery.MyBean.class.getName()));
+  }
+
+  @Test
+  void testUnqualifiedParametersIndexed() throws ReflectiveOperationException {
+    final CdiIndex index = CdiIndex.of(this.getClass());
+    final Constructor<?> c = Injected.class.getDeclaredConstructor(String.class, Integer.class);
+    assertFalse(index.unqualified(c, 0));
+    assertTrue(index.unqualified(c, 1));
+    // Neither an initializer nor a test method, so not indexed.
+    assertFalse(index.unqualified(this.getClass().getDeclaredMethod("frob", Integer.class), 0));
+  }
+
+  @Test
+  void testInnerClassConstructorParametersIndexed() throws ReflectiveOperationException {
+    final CdiIndex index = CdiIndex.of(this.getClass());
+    // Reflection sees the enclosing instance as the first parameter; the language model does not.
+    final Constructor<?> c = Inner.class.getDeclaredConstructor(TestCdiIndex.class, String.class, Integer.class);
+    assertTrue(index.unqualified(c, 0));
+    assertFalse(index.unqualified(c, 1));
+    assertTrue(index.unqualified(c, 2));
+  }
+
+  @Test
+  void testNoIndexForBootstrapClasses() {
+    assertFalse(CdiIndex.of(String.class).unqualified(String.class.getConstructors()[0], 0));
+  }
+
+  private static List<String> names(final Class<?>[] classes) {
+    final List<String> names = new ArrayList<>(classes.length);
+    for (final Class<?> c : classes) {
+      names.add(c.getName());
+    }
+    return names;
+  }
+
+  private static void frob(final Integer i) {}
+
+  private static final class Injected {
+
+    @Inject
+    private Injected(@Named("s") final String s, final Integer i) {
+      super();
+    }
+
+  }
+
+  private final class Inner {
+
+    private Inner(@Named("s") final String s, final Integer i) {
+      super();
+    }
+
+  }
+
+}
@@ -0,0 +1,50 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(CdiSupport.class)
+class TestCdiSupportMXBean {
+
+  TestCdiSupportMXBean() {
+    super();
+  }
+
+  @Test
+  void testMetricsVisibleThroughJmx(final Instance<Object> i) throws Exception {
+    assertNotNull(i);
+    final CdiSupportMXBean mxBean =
+      JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                         new ObjectName("io.github.ljnelson.junitopia.cdi:type=CdiSupport"),
+                         CdiSupportMXBean.class);
+    // This test's own SeContainer has been created, and its Instance<Object> parameter resolved.
+    assertTrue(mxBean.getContainersCreated() >= 1L);
+    assertTrue(mxBean.getInitializeNanos() > 0L);
+    assertTrue(mxBean.getParameterResolutionHits() >= 1L);
+  }
+
+}
@@ -0,0 +1,126 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.TestInstance;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import org.junit.jupiter.api.parallel.Execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+@ExtendWith(CdiSupport.class)
+@Tag("per_class") // run with jakarta.enterprise.inject.se.SeContainer.lifecycle=per_class
+@TestInstance(PER_METHOD)
+class TestConcurrentInvocations {
+
+  private static final Set<Object> gorps = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  private ExtensionContext ec;
+
+  @Inject
+  private TestInfo testInfo;
+
+  @Inject
+  private Gorp gorp;
+
+  @Inject
+  TestConcurrentInvocations() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @Test
+  void test0(final TestInfo junitTestInfo) throws InterruptedException {
+    this.assertOwnContext(junitTestInfo);
+  }
+
+  @Test
+  void test1(final TestInfo junitTestInfo) throws InterruptedException {
+    this.assertOwnContext(junitTestInfo);
+  }
+
+  @Test
+  void test2(final TestInfo junitTestInfo) throws InterruptedException {
+    this.assertOwnContext(junitTestInfo);
+  }
+
+  @Test
+  void test3(final TestInfo junitTestInfo) throws InterruptedException {
+    this.assertOwnContext(junitTestInfo);
+  }
+
+  @Test
+  void test4(final TestInfo junitTestInfo) throws InterruptedException {
+    this.assertOwnContext(junitTestInfo);
+  }
+
+  @Test
+  void test5(final TestInfo junitTestInfo) throws InterruptedException {
+    this.assertOwnContext(junitTestInfo);
+  }
+
+  private final void assertOwnContext(final TestInfo junitTestInfo) throws InterruptedException {
+    assertEquals(junitTestInfo.getTestMethod(), this.testInfo.getTestMethod());
+    assertTrue(gorps.add(this.gorp.id()));
+    Thread.sleep(20L); // give other invocations a chance to overlap this one
+    assertEquals(junitTestInfo.getTestMethod(), this.ec.getTestMethod());
+    assertEquals(junitTestInfo.getTestMethod(), this.testInfo.getTestMethod());
+    assertTrue(gorps.contains(this.gorp.id()));
+  }
+
+  @TestScoped
+  public static class Gorp {
+
+    private final Object id;
+
+    public Gorp() {
+      super();
+      this.id = new Object();
+    }
+
+    // (Weld client proxies return themselves, not the contextual instance, from methods that return this.)
+    public Object id() {
+      return this.id;
+    }
+
+  }
+
+}
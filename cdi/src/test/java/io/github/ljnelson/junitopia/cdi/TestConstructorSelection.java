@@ -0,0 +1,52 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(CdiSupport.class)
+class TestConstructorSelection {
+
+  private final TestInfo testInfo;
+
+  // Has the most parameters, but nothing can resolve them, so it must not be chosen.
+  TestConstructorSelection(final String s, final Integer i) {
+    super();
+    throw new AssertionError();
+  }
+
+  TestConstructorSelection(final TestInfo testInfo) {
+    super();
+    this.testInfo = testInfo;
+  }
+
+  @Test
+  void testResolvableConstructorChosen() {
+    assertNotNull(this.testInfo);
+    assertEquals("TestConstructorSelection", this.testInfo.getDisplayName());
+  }
+
+  @Test
+  void testResolvableConstructorChosenAgain() {
+    assertNotNull(this.testInfo);
+    assertEquals("TestConstructorSelection", this.testInfo.getDisplayName());
+  }
+
+}
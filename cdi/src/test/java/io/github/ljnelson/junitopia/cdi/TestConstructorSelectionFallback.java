@@ -0,0 +1,109 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// The constructor remembered from an earlier instance may not work for a later one (here because a ParameterResolver it
+// needed stops supporting its parameter); the other constructors are then tried.
+@ExtendWith(CdiSupport.class)
+@ExtendWith(TestConstructorSelectionFallback.StringResolver.class)
+@ExtendWith(TestConstructorSelectionFallback.IntegerResolver.class)
+@TestMethodOrder(OrderAnnotation.class)
+class TestConstructorSelectionFallback {
+
+  private final String s;
+
+  private final Integer i;
+
+  TestConstructorSelectionFallback(final String s, final Integer i) {
+    super();
+    this.s = s;
+    this.i = i;
+  }
+
+  TestConstructorSelectionFallback(final Integer i) {
+    super();
+    this.s = null;
+    this.i = i;
+  }
+
+  @Order(1)
+  @Test
+  void testLargerConstructorChosen() {
+    assertEquals("s", this.s);
+    assertNotNull(this.i);
+  }
+
+  @Order(2)
+  @Test
+  void testSmallerConstructorChosenWhenRememberedOneFails() {
+    assertNull(this.s);
+    assertNotNull(this.i);
+  }
+
+  static final class StringResolver implements ParameterResolver {
+
+    private static final AtomicBoolean resolved = new AtomicBoolean();
+
+    StringResolver() {
+      super();
+    }
+
+    @Override // ParameterResolver
+    public final boolean supportsParameter(final ParameterContext pc, final ExtensionContext ec) {
+      return pc.getParameter().getType() == String.class && !resolved.get();
+    }
+
+    @Override // ParameterResolver
+    public final Object resolveParameter(final ParameterContext pc, final ExtensionContext ec) {
+      resolved.set(true);
+      return "s";
+    }
+
+  }
+
+  static final class IntegerResolver implements ParameterResolver {
+
+    IntegerResolver() {
+      super();
+    }
+
+    @Override // ParameterResolver
+    public final boolean supportsParameter(final ParameterContext pc, final ExtensionContext ec) {
+      return pc.getParameter().getType() == Integer.class;
+    }
+
+    @Override // ParameterResolver
+    public final Object resolveParameter(final ParameterContext pc, final ExtensionContext ec) {
+      return Integer.valueOf(1);
+    }
+
+  }
+
+}
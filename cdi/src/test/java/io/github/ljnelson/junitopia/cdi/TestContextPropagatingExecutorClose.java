@@ -0,0 +1,100 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Proxy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestContextPropagatingExecutorClose {
+
+  private ExecutorService shared;
+
+  TestContextPropagatingExecutorClose() {
+    super();
+  }
+
+  @BeforeEach
+  void startSharedExecutor() {
+    this.shared = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  void stopSharedExecutor() {
+    this.shared.shutdownNow();
+  }
+
+  @Test
+  void testCloseGivesUpOnTasksThatDoNotFinish() throws InterruptedException {
+    final ContextPropagatingExecutor executor =
+      new ContextPropagatingExecutor(new MethodLevelExtensionContextSupplier(),
+                                     extensionContext(),
+                                     this.shared,
+                                     MILLISECONDS.toNanos(100L));
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    executor.execute(() -> {
+        started.countDown();
+        try {
+          new CountDownLatch(1).await();
+        } catch (final InterruptedException e) {
+          interrupted.countDown();
+        }
+      });
+    // Queued behind the first task on the single shared thread, so it never starts.
+    final AtomicBoolean ran = new AtomicBoolean();
+    executor.execute(() -> ran.set(true));
+    assertTrue(started.await(10L, SECONDS));
+    executor.close();
+    assertTrue(interrupted.await(10L, SECONDS));
+    assertTrue(executor.awaitTermination(10L, SECONDS));
+    // The shared thread survives, without the interrupt, to run other tasks, but not the abandoned one.
+    final CountDownLatch next = new CountDownLatch(1);
+    this.shared.execute(() -> {
+        if (!Thread.currentThread().isInterrupted()) {
+          next.countDown();
+        }
+      });
+    assertTrue(next.await(10L, SECONDS));
+    assertFalse(ran.get());
+  }
+
+  private static final ExtensionContext extensionContext() {
+    return (ExtensionContext) Proxy.newProxyInstance(ExtensionContext.class.getClassLoader(),
+                                                     new Class<?>[] { ExtensionContext.class },
+                                                     (proxy, m, args) -> {
+                                                       if (m.getName().equals("getUniqueId")) {
+                                                         return "[test:close]";
+                                                       }
+                                                       throw new UnsupportedOperationException(m.getName());
+                                                     });
+  }
+
+}
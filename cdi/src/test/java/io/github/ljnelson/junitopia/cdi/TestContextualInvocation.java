@@ -0,0 +1,71 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.List;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A test class that is a @TestScoped bean has its test methods invoked directly on a contextual reference, not by
+// falling back to JUnit's own invocation of whatever test instance (here a client proxy) JUnit holds.
+@ExtendWith(CdiSupport.class)
+class TestContextualInvocation {
+
+  @Inject
+  private Gorp gorp;
+
+  TestContextualInvocation() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @Test
+  void testInvokedOnContextualReference() {
+    assertNotNull(this.gorp);
+    final List<String> events = FlightRecorder.INSTANCE.dump(TestContextualInvocation.class);
+    assertTrue(events.stream().anyMatch(e -> e.contains(" CONTEXTUAL_INVOCATION " + TestContextualInvocation.class.getName() +
+                                                        "#testInvokedOnContextualReference")),
+               events::toString);
+    assertTrue(events.stream().noneMatch(e -> e.contains("_FALLBACK")), events::toString);
+    // Every event recorded once the SeContainer exists says which one it concerns.
+    assertTrue(events.stream()
+               .filter(e -> e.contains(" CONTEXTUAL_INVOCATION ") || e.contains(" TEST_SCOPED_CREATED "))
+               .allMatch(e -> e.contains(" container=")),
+               events::toString);
+  }
+
+  public static class Gorp {
+
+    public Gorp() {
+      super();
+    }
+
+  }
+
+}
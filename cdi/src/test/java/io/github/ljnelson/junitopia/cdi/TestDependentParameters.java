@@ -0,0 +1,90 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+// Every @Dependent parameter of every invocation is destroyed once its invocation is over, even though they all share
+// one CreationalContext per invocation.
+@ExtendWith(CdiSupport.class)
+class TestDependentParameters {
+
+  private static final AtomicInteger created = new AtomicInteger();
+
+  private static final AtomicInteger destroyed = new AtomicInteger();
+
+  TestDependentParameters() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @AfterAll
+  static void assertAllDestroyed() {
+    assertEquals(6, created.get());
+    assertEquals(6, destroyed.get());
+  }
+
+  @Test
+  void test0(final Gorp g0, final Gorp g1, final Gorp g2) {
+    assertNotSame(g0, g1);
+    assertNotSame(g1, g2);
+  }
+
+  @Test
+  void test1(final Gorp g0, final Gorp g1, final Gorp g2) {
+    assertNotSame(g0, g1);
+    assertNotSame(g1, g2);
+  }
+
+  @Dependent
+  public static class Gorp {
+
+    public Gorp() {
+      super();
+    }
+
+    @PostConstruct
+    void create() {
+      created.incrementAndGet();
+    }
+
+    @PreDestroy
+    void destroy() {
+      destroyed.incrementAndGet();
+    }
+
+  }
+
+}
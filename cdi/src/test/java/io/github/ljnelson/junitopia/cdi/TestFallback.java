@@ -0,0 +1,76 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(CdiArgumentResolver.class)
+class TestFallback {
+
+  private static SeContainer container;
+
+  private final BeanManager bm;
+
+  TestFallback() {
+    super();
+    this.bm = container.getBeanManager();
+  }
+
+  @BeforeAll
+  static void startContainer() {
+    container = SeContainerInitializer.newInstance()
+      .disableDiscovery()
+      .addBeanClasses(Gorp.class)
+      .initialize();
+  }
+
+  @AfterAll
+  static void stopContainer() {
+    container.close();
+  }
+
+  @Test
+  void testBeanManagerFieldFallback(final Gorp gorp, final Gorp gorp2) {
+    assertNotNull(gorp);
+    assertSame(gorp.self(), gorp2.self());
+  }
+
+  @ApplicationScoped
+  static class Gorp {
+
+    Gorp() {
+      super();
+    }
+
+    Gorp self() {
+      return this;
+    }
+
+  }
+
+}
@@ -0,0 +1,71 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Method;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.BOOTED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.CLOSED;
+import static io.github.ljnelson.junitopia.cdi.FlightRecorder.Event.TEST_SCOPED_CREATED;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestFlightRecorder {
+
+  private TestFlightRecorder() {
+    super();
+  }
+
+  @Test
+  void testOldestEventsOverwritten() {
+    final FlightRecorder r = new FlightRecorder(3); // rounded up to 4
+    for (int i = 0; i < 6; i++) {
+      r.record(i % 2 == 0 ? BOOTED : CLOSED, null, null, 0);
+    }
+    final List<String> events = r.dump(null);
+    assertEquals(4, events.size());
+    assertTrue(events.get(0).endsWith(" BOOTED"));
+    assertTrue(events.get(3).endsWith(" CLOSED"));
+  }
+
+  @Test
+  void testDumpFilteredByTestClass() throws ReflectiveOperationException {
+    final FlightRecorder r = new FlightRecorder(16);
+    final Method m = this.getClass().getDeclaredMethod("testDumpFilteredByTestClass");
+    r.record(BOOTED, this.getClass(), m, 7);
+    r.record(TEST_SCOPED_CREATED, Nested.class, null, 7);
+    r.record(TEST_SCOPED_CREATED, String.class, null, 7);
+    r.record(CLOSED, null, null, 7);
+    final List<String> events = r.dump(this.getClass());
+    assertEquals(3, events.size());
+    assertTrue(events.get(0).endsWith(" BOOTED " + this.getClass().getName() + "#testDumpFilteredByTestClass container=7"));
+    assertTrue(events.get(1).endsWith(" TEST_SCOPED_CREATED " + Nested.class.getName() + " container=7"));
+    assertTrue(events.get(2).endsWith(" CLOSED container=7"));
+  }
+
+  @Test
+  void testDisabled() {
+    final FlightRecorder r = new FlightRecorder(0);
+    r.record(BOOTED, null, null, 0);
+    assertTrue(r.dump(null).isEmpty());
+  }
+
+  private static final class Nested {}
+
+}
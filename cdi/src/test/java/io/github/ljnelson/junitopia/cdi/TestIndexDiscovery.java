@@ -0,0 +1,51 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Note that nothing configures the SeContainerInitializer: MyBean is found through the compile-time index.
+@ExtendWith(CdiSupport.class)
+@Tag("index") // run with jakarta.enterprise.inject.se.SeContainer.discovery=index
+class TestIndexDiscovery {
+
+  TestIndexDiscovery() {
+    super();
+  }
+
+  @Test
+  void testIndexedBeanInjected(final MyBean bean) {
+    assertNotNull(bean);
+  }
+
+  @Dependent
+  static class MyBean {
+
+    @Inject
+    MyBean() {
+      super();
+    }
+
+  }
+
+}
@@ -0,0 +1,83 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Method;
+
+import jakarta.enterprise.inject.Default;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class TestInjectionPoints {
+
+  private TestInjectionPoints() {
+    super();
+  }
+
+  @Test
+  void testInjectionPointsAreCached() throws ReflectiveOperationException {
+    final Method m = this.getClass().getDeclaredMethod("frob", String.class, Integer.class);
+    try (final SeContainer c = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(this.getClass())
+         .initialize()) {
+      final InjectionPoints ips = new InjectionPoints(c.getBeanManager());
+      final InjectionPoint ip = ips.injectionPoint(m, 1);
+      assertEquals(Integer.class, ip.getType());
+      assertSame(ip, ips.injectionPoint(m, 1));
+      assertArrayEquals(new Object[] { Default.Literal.INSTANCE }, ips.qualifiers(m, 1));
+      assertSame(ips.qualifiers(m, 1), ips.qualifiers(m, 1));
+      ips.close();
+      assertNotSame(ip, ips.injectionPoint(m, 1));
+    }
+  }
+
+  @Test
+  void testInjectionPointsCacheIsPerBeanManager() throws ReflectiveOperationException {
+    final Method m = this.getClass().getDeclaredMethod("frob", String.class, Integer.class);
+    try (final SeContainer c0 = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(this.getClass())
+         .initialize();
+         final SeContainer c1 = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(this.getClass())
+         .initialize()) {
+      final Store store = new SimpleStore();
+      final InjectionPoints ips0 = AbstractCdiExtension.injectionPoints(store, c0.getBeanManager());
+      // (Weld returns a new, but equal, BeanManager each time.)
+      assertSame(ips0, AbstractCdiExtension.injectionPoints(store, c0.getBeanManager()));
+      // (Weld also considers the BeanManagers of different SeContainers equal.)
+      final InjectionPoints ips1 = AbstractCdiExtension.injectionPoints(store, c1.getBeanManager());
+      assertNotSame(ips0, ips1);
+      assertSame(ips1, AbstractCdiExtension.injectionPoints(store, c1.getBeanManager()));
+      assertNotSame(ips0.injectionPoint(m, 1), ips1.injectionPoint(m, 1));
+    }
+  }
+
+  private static void frob(final String s, final Integer i) {}
+
+}
@@ -0,0 +1,113 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Method;
+
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.inject.Instance;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// With jakarta.enterprise.inject.se.SeContainer.invocation=isolated, each test method runs on a fresh virtual thread
+// of its own, so it sees nothing another left in a ThreadLocal, while @TestScoped beans, and the JUnit objects the
+// extension makes into beans, still belong to the right invocation.
+@ExtendWith(CdiSupport.class)
+@Tag("isolated") // run with jakarta.enterprise.inject.se.SeContainer.invocation=isolated
+class TestIsolatedInvocation {
+
+  private static final Set<Object> ids = ConcurrentHashMap.newKeySet();
+
+  private static final ThreadLocal<String> leftovers = new ThreadLocal<>();
+
+  @Inject
+  private Instance<TestInfo> testInfos;
+
+  @Inject
+  private Instance<Gorp> gorps;
+
+  TestIsolatedInvocation() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @AfterAll
+  static void assertOneGorpPerInvocation() {
+    assertEquals(3, ids.size());
+  }
+
+  @Test
+  void test0() throws ReflectiveOperationException {
+    this.check("test0");
+  }
+
+  @Test
+  void test1() throws ReflectiveOperationException {
+    this.check("test1");
+  }
+
+  @Test
+  void test2() throws ReflectiveOperationException {
+    this.check("test2");
+  }
+
+  private final void check(final String methodName) throws ReflectiveOperationException {
+    assertTrue((Boolean)Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+    assertNull(leftovers.get());
+    leftovers.set(methodName);
+    assertEquals(methodName, this.testInfos.get().getTestMethod().map(Method::getName).orElse(null));
+    final Gorp gorp = this.gorps.get();
+    assertTrue(ids.add(gorp.id()));
+    assertEquals(gorp.id(), this.gorps.get().id());
+  }
+
+  @TestScoped
+  public static class Gorp {
+
+    private final Object id;
+
+    public Gorp() {
+      super();
+      this.id = new Object();
+    }
+
+    public Object id() {
+      return this.id;
+    }
+
+  }
+
+}
@@ -0,0 +1,94 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.enterprise.inject.Instance;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith({ CdiSupport.class, TestLazyInitialization.SeContainerPresence.class })
+@Tag("lazy") // run with jakarta.enterprise.inject.se.SeContainer.initialization=lazy
+class TestLazyInitialization {
+
+  TestLazyInitialization() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(MyBean.class);
+  }
+
+  @Test
+  void testNoSeContainerNeeded() {
+
+  }
+
+  @Test
+  void testSeContainerNeeded(final MyBean bean) {
+    assertNotNull(bean);
+  }
+
+  @AfterEach
+  void createSeContainerOnDemand(final MyBean bean) {
+    assertNotNull(bean);
+  }
+
+  // Checks, after each test method has run but before @AfterEach methods do, whether an SeContainer was created.
+  static final class SeContainerPresence implements AfterTestExecutionCallback {
+
+    SeContainerPresence() {
+      super();
+    }
+
+    @Override // AfterTestExecutionCallback
+    public final void afterTestExecution(final ExtensionContext ec) {
+      final Object i = ec.getStore(AbstractCdiExtension.NAMESPACE).get(Instance.class);
+      if (ec.getRequiredTestMethod().getParameterCount() == 0) {
+        assertNull(i);
+      } else {
+        assertNotNull(i);
+      }
+    }
+
+  }
+
+  @Dependent
+  static class MyBean {
+
+    @Inject
+    MyBean() {
+      super();
+    }
+
+  }
+
+}
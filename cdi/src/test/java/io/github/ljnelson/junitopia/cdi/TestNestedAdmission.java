@@ -0,0 +1,111 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+
+// With jakarta.enterprise.inject.se.SeContainer.lifecycle=per_class, @Nested test classes and their enclosing test
+// classes may all need SeContainers alive at once; a limit of one live SeContainer must not leave any of them waiting
+// forever.
+@ExtendWith(CdiSupport.class)
+@Tag("admission_per_class") // run with jakarta.enterprise.inject.se.SeContainer.lifecycle=per_class and admission.live=1
+@TestInstance(PER_METHOD)
+class TestNestedAdmission {
+
+  private static final AtomicInteger ran = new AtomicInteger();
+
+  TestNestedAdmission() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery();
+  }
+
+  @AfterAll
+  static void assertEveryTestRan() {
+    assertEquals(3, ran.get());
+  }
+
+  @Test
+  void test(final BeanManager bm) {
+    assertNotNull(bm);
+    ran.incrementAndGet();
+  }
+
+  @Test
+  void testUnsatisfiableLimitTimesOut() {
+    final Admission admission = new Admission(1, 0, 1L);
+    final Admission.Permit permit = admission.admit("a");
+    try {
+      final IllegalStateException e = assertThrows(IllegalStateException.class, () -> admission.admit("b"));
+      assertTrue(e.getMessage().endsWith("SeContainers alive: [a]"));
+    } finally {
+      permit.close();
+    }
+    admission.admit("b").close();
+  }
+
+  @Nested
+  class Inner {
+
+    Inner() {
+      super();
+    }
+
+    @Test
+    void test(final BeanManager bm) {
+      assertNotNull(bm);
+      ran.incrementAndGet();
+    }
+
+    @Nested
+    class Innermost {
+
+      Innermost() {
+        super();
+      }
+
+      @Test
+      void test(final BeanManager bm) {
+        assertNotNull(bm);
+        ran.incrementAndGet();
+      }
+
+    }
+
+  }
+
+}
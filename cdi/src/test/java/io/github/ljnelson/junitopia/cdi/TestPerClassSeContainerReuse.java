@@ -0,0 +1,121 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import jakarta.enterprise.context.spi.Context;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+
+// With jakarta.enterprise.inject.se.SeContainer.lifecycle=per_class, every test method shares one SeContainer, but gets
+// fresh @TestScoped beans, which are destroyed when it completes.
+@ExtendWith(CdiSupport.class)
+@Tag("per_class") // run with jakarta.enterprise.inject.se.SeContainer.lifecycle=per_class
+@TestInstance(PER_METHOD)
+class TestPerClassSeContainerReuse {
+
+  // BeanManagers are no good for telling SeContainers apart (Weld considers those of different SeContainers equal), but
+  // each SeContainer has exactly one application context.
+  private static final Set<Context> applicationContexts =
+    Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+  private static final Set<Object> gorps = ConcurrentHashMap.newKeySet();
+
+  private static final AtomicInteger destroyed = new AtomicInteger();
+
+  TestPerClassSeContainerReuse() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @AfterAll
+  static void assertOneSeContainerAndNoLeftovers() {
+    assertEquals(1, applicationContexts.size());
+    assertEquals(3, gorps.size());
+    assertEquals(3, destroyed.get());
+  }
+
+  @Test
+  void test0(final BeanManager bm, final Gorp gorp) {
+    this.record(bm, gorp);
+  }
+
+  @Test
+  void test1(final BeanManager bm, final Gorp gorp) {
+    this.record(bm, gorp);
+  }
+
+  @Test
+  void test2(final BeanManager bm, final Gorp gorp) {
+    this.record(bm, gorp);
+  }
+
+  private final void record(final BeanManager bm, final Gorp gorp) {
+    applicationContexts.add(bm.getContext(ApplicationScoped.class));
+    assertTrue(gorps.add(gorp.id()));
+  }
+
+  @TestScoped
+  public static class Gorp {
+
+    private final Object id;
+
+    public Gorp() {
+      super();
+      this.id = new Object();
+    }
+
+    public Object id() {
+      return this.id;
+    }
+
+    @PreDestroy
+    void destroy() {
+      destroyed.incrementAndGet();
+    }
+
+  }
+
+}
@@ -0,0 +1,177 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.junit.jupiter.api.parallel.Execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+
+// One SeContainer serves all three test methods, one after the other, so one Pooled Index should serve them all.
+@ExtendWith(CdiSupport.class)
+@Execution(SAME_THREAD)
+@Tag("per_class") // run with jakarta.enterprise.inject.se.SeContainer.lifecycle=per_class
+@TestInstance(PER_METHOD)
+class TestPooled {
+
+  private static final AtomicInteger created = new AtomicInteger();
+
+  private static final AtomicInteger reset = new AtomicInteger();
+
+  private static final AtomicInteger destroyed = new AtomicInteger();
+
+  private static final AtomicInteger unresettableCreated = new AtomicInteger();
+
+  private static final AtomicInteger unresettableDestroyed = new AtomicInteger();
+
+  TestPooled() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Index.class, Unresettable.class);
+  }
+
+  @AfterAll
+  static void assertOneIndexCreated() {
+    assertEquals(1, created.get());
+    assertEquals(3, reset.get());
+    assertEquals(0, destroyed.get()); // not until the SeContainer shuts down
+    // Without a Reset method nothing could clear an instance's state, so none is kept.
+    assertEquals(3, unresettableCreated.get());
+    assertEquals(3, unresettableDestroyed.get());
+  }
+
+  @Test
+  void test0(final Index index, final Unresettable unresettable) {
+    use(index);
+    use(unresettable);
+  }
+
+  @Test
+  void test1(final Index index, final Unresettable unresettable) {
+    use(index);
+    use(unresettable);
+  }
+
+  @Test
+  void test2(final Index index, final Unresettable unresettable) {
+    use(index);
+    use(unresettable);
+  }
+
+  private static final void use(final Index index) {
+    assertTrue(index.entries().isEmpty());
+    index.add("a");
+    index.add("b");
+  }
+
+  private static final void use(final Unresettable unresettable) {
+    assertTrue(unresettable.entries().isEmpty());
+    unresettable.add("a");
+  }
+
+  @Pooled
+  @TestScoped
+  public static class Index {
+
+    private final List<String> entries;
+
+    public Index() {
+      super();
+      this.entries = new ArrayList<>();
+    }
+
+    @PostConstruct
+    void create() {
+      created.incrementAndGet();
+    }
+
+    public List<String> entries() {
+      return this.entries;
+    }
+
+    public void add(final String entry) {
+      this.entries.add(entry);
+    }
+
+    @Pooled.Reset
+    void reset() {
+      reset.incrementAndGet();
+      this.entries.clear();
+    }
+
+    @PreDestroy
+    void destroy() {
+      destroyed.incrementAndGet();
+    }
+
+  }
+
+  @Pooled
+  @TestScoped
+  public static class Unresettable {
+
+    private final List<String> entries;
+
+    public Unresettable() {
+      super();
+      this.entries = new ArrayList<>();
+    }
+
+    @PostConstruct
+    void create() {
+      unresettableCreated.incrementAndGet();
+    }
+
+    public List<String> entries() {
+      return this.entries;
+    }
+
+    public void add(final String entry) {
+      this.entries.add(entry);
+    }
+
+    @PreDestroy
+    void destroy() {
+      unresettableDestroyed.incrementAndGet();
+    }
+
+  }
+
+}
@@ -0,0 +1,99 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Annotation;
+
+import java.util.Optional;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class TestResolutions {
+
+  private static final Annotation[] DEFAULT = new Annotation[] { Default.Literal.INSTANCE };
+
+  private TestResolutions() {
+    super();
+  }
+
+  @Test
+  void testResolutionsAreCached() {
+    try (final SeContainer c = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(MyBean.class)
+         .initialize()) {
+      final Resolutions rs = new Resolutions(c.getBeanManager());
+      final Optional<Bean<?>> resolution = rs.resolve(MyBean.class, DEFAULT);
+      assertEquals(MyBean.class, resolution.orElseThrow().getBeanClass());
+      assertSame(resolution, rs.resolve(MyBean.class, DEFAULT.clone()));
+    }
+  }
+
+  @Test
+  void testQualifierOrderDoesNotMatter() {
+    try (final SeContainer c = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(MyBean.class)
+         .initialize()) {
+      final Resolutions rs = new Resolutions(c.getBeanManager());
+      final Optional<Bean<?>> resolution =
+        rs.resolve(MyBean.class, new Annotation[] { Default.Literal.INSTANCE, Any.Literal.INSTANCE });
+      assertEquals(MyBean.class, resolution.orElseThrow().getBeanClass());
+      assertSame(resolution,
+                 rs.resolve(MyBean.class, new Annotation[] { Any.Literal.INSTANCE, Default.Literal.INSTANCE }));
+      assertNotSame(resolution, rs.resolve(MyBean.class, new Annotation[] { Any.Literal.INSTANCE }));
+    }
+  }
+
+  @Test
+  void testUnsatisfiedResolutionsAreCached() {
+    try (final SeContainer c = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(MyBean.class)
+         .initialize()) {
+      final Resolutions rs = new Resolutions(c.getBeanManager());
+      final Optional<Bean<?>> resolution = rs.resolve(String.class, DEFAULT);
+      assertFalse(resolution.isPresent());
+      assertSame(resolution, rs.resolve(String.class, DEFAULT));
+    }
+  }
+
+  @Dependent
+  private static final class MyBean {
+
+    @Inject
+    private MyBean() {
+      super();
+    }
+
+  }
+
+}
@@ -0,0 +1,119 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.invoke.MethodHandle;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+
+import java.util.List;
+
+import jakarta.annotation.PreDestroy;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestTestClassDescriptors {
+
+  private static int destroyed;
+
+  private TestTestClassDescriptors() {
+    super();
+  }
+
+  @Test
+  void testConstructorsOrderedByDescendingParameterCount() {
+    final List<Constructor<?>> cs = TestClassDescriptor.constructors(MyBean.class);
+    assertEquals(2, cs.size());
+    assertEquals(1, cs.get(0).getParameterCount());
+    assertEquals(0, cs.get(1).getParameterCount());
+    assertSame(cs, TestClassDescriptor.constructors(MyBean.class));
+  }
+
+  @Test
+  void testDescriptorsAreCached() throws Throwable {
+    try (final SeContainer c = SeContainerInitializer.newInstance()
+         .disableDiscovery()
+         .addBeanClasses(MyBean.class)
+         .initialize()) {
+      final TestClassDescriptors ds = new TestClassDescriptors(c.getBeanManager());
+      final TestClassDescriptor d = ds.descriptor(MyBean.class);
+      assertSame(d, ds.descriptor(MyBean.class));
+      assertFalse(d.unsatisfied());
+      assertFalse(d.ambiguous());
+      final SimpleStore store = new SimpleStore();
+      final ExtensionContext ec =
+        (ExtensionContext)Proxy.newProxyInstance(ExtensionContext.class.getClassLoader(),
+                                                 new Class<?>[] { ExtensionContext.class },
+                                                 (proxy, method, args) -> {
+                                                   switch (method.getName()) {
+                                                   case "getStore":
+                                                     return store;
+                                                   case "getUniqueId":
+                                                     return "[engine:junit-jupiter]";
+                                                   default:
+                                                     throw new UnsupportedOperationException(method.toString());
+                                                   }
+                                                 });
+      assertNotNull(d.reference(ec));
+      // The @Dependent test instance is destroyed along with the ExtensionContext.
+      destroyed = 0;
+      store.close();
+      assertEquals(1, destroyed);
+      final MethodHandle invoker = d.invoker(MyBean.class.getDeclaredMethod("frob", String.class));
+      assertSame(invoker, d.invoker(MyBean.class.getDeclaredMethod("frob", String.class)));
+      assertEquals("frobbed", (Object)invoker.invokeExact((Object)new MyBean(), new Object[] { "frobbed" }));
+      assertTrue(ds.descriptor(String.class).unsatisfied());
+    }
+  }
+
+  @Dependent
+  private static final class MyBean {
+
+    @Inject
+    private MyBean() {
+      super();
+    }
+
+    private MyBean(final String s) {
+      super();
+    }
+
+    private String frob(final String s) {
+      return s;
+    }
+
+    @PreDestroy
+    private void destroy() {
+      destroyed++;
+    }
+
+  }
+
+}
@@ -0,0 +1,127 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class TestTestContext {
+
+  private TestTestContext() {
+    super();
+  }
+
+  @Test
+  void testConcurrentGetsCreateOnce() throws Exception {
+    final SimpleStore store = new SimpleStore();
+    final TestContext tc = new TestContext(store);
+    final Gorp gorp = new Gorp();
+    final int threads = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService es = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        final Callable<Object> c = () -> {
+          start.await();
+          return tc.get(gorp, new Cc());
+        };
+        futures.add(es.submit(c));
+      }
+      start.countDown();
+      final Object instance = futures.get(0).get();
+      for (final Future<Object> f : futures) {
+        assertSame(instance, f.get());
+      }
+    } finally {
+      es.shutdown();
+    }
+    assertEquals(1, gorp.creations.get());
+  }
+
+  @Test
+  void testInstancesDestroyedWhenStoreCloses() throws Throwable {
+    final SimpleStore store = new SimpleStore();
+    final TestContext tc = new TestContext(store);
+    final Gorp gorp = new Gorp();
+    final Cc cc = new Cc();
+    final Object instance = tc.get(gorp, cc);
+    assertSame(instance, tc.get(gorp));
+    store.close();
+    assertEquals(1, gorp.destructions.get());
+    assertEquals(1, cc.releases.get());
+    assertNull(tc.get(gorp));
+  }
+
+  private static final class Gorp implements Contextual<Object> {
+
+    private final AtomicInteger creations = new AtomicInteger();
+
+    private final AtomicInteger destructions = new AtomicInteger();
+
+    private Gorp() {
+      super();
+    }
+
+    @Override // Contextual<Object>
+    public final Object create(final CreationalContext<Object> cc) {
+      this.creations.incrementAndGet();
+      return new Object();
+    }
+
+    @Override // Contextual<Object>
+    public final void destroy(final Object instance, final CreationalContext<Object> cc) {
+      this.destructions.incrementAndGet();
+    }
+
+  }
+
+  private static final class Cc implements CreationalContext<Object> {
+
+    private final AtomicInteger releases = new AtomicInteger();
+
+    private Cc() {
+      super();
+    }
+
+    @Override // CreationalContext<Object>
+    public final void push(final Object incompleteInstance) {
+
+    }
+
+    @Override // CreationalContext<Object>
+    public final void release() {
+      this.releases.incrementAndGet();
+    }
+
+  }
+
+}
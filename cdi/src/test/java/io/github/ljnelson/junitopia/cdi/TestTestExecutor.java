@@ -0,0 +1,117 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.reflect.Method;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.enterprise.inject.Instance;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(CdiSupport.class)
+class TestTestExecutor {
+
+  TestTestExecutor() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @Test
+  void test0(final TestExecutor executor, final Instance<Object> i) throws Exception {
+    check("test0", executor, i);
+  }
+
+  @Test
+  void test1(final TestExecutor executor, final Instance<Object> i) throws Exception {
+    check("test1", executor, i);
+  }
+
+  @Test
+  void testUnboundThreadRejected(final Instance<Object> i) throws InterruptedException {
+    // A thread the test starts itself, rather than through the TestExecutor, has no ExtensionContext bound to it, and
+    // must not borrow some other test's.
+    final AtomicReference<Throwable> thrown = new AtomicReference<>();
+    final Thread t = new Thread(() -> {
+        try {
+          i.select(Gorp.class).get().id();
+        } catch (final RuntimeException e) {
+          thrown.set(e);
+        }
+      });
+    t.start();
+    t.join();
+    assertTrue(thrown.get() instanceof IllegalStateException, String.valueOf(thrown.get()));
+  }
+
+  private static final void check(final String methodName, final TestExecutor executor, final Instance<Object> i)
+    throws Exception {
+    final Object id = i.select(Gorp.class).get().id();
+    final Thread testThread = Thread.currentThread();
+    final List<Callable<Object>> tasks = new ArrayList<>();
+    for (int n = 0; n < 8; n++) {
+      tasks.add(() -> {
+          assertNotSame(testThread, Thread.currentThread());
+          assertEquals(methodName, i.select(TestInfo.class).get().getTestMethod().map(Method::getName).orElse(null));
+          return i.select(Gorp.class).get().id();
+        });
+    }
+    for (final Future<Object> f : executor.invokeAll(tasks)) {
+      assertEquals(id, f.get());
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10L, SECONDS));
+  }
+
+  @TestScoped
+  public static class Gorp {
+
+    private final Object id;
+
+    public Gorp() {
+      super();
+      this.id = new Object();
+    }
+
+    public Object id() {
+      return this.id;
+    }
+
+  }
+
+}
@@ -0,0 +1,137 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import jakarta.enterprise.context.spi.Context;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Tag;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.junit.jupiter.api.parallel.Execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+
+// With jakarta.enterprise.inject.se.SeContainer.lifecycle=per_template, every invocation of a test template shares one
+// SeContainer, but gets fresh @TestScoped beans (the test class bean among them), which are destroyed when it completes.
+@ExtendWith(CdiSupport.class)
+@Execution(SAME_THREAD) // so that no invocation starts before the first has recorded its resolutions
+@Tag("per_template") // run with jakarta.enterprise.inject.se.SeContainer.lifecycle=per_template
+class TestTestTemplateInvocations {
+
+  // BeanManagers are no good for telling SeContainers apart (Weld considers those of different SeContainers equal), but
+  // each SeContainer has exactly one application context.
+  private static final Set<Context> applicationContexts =
+    Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+  private static final Set<Object> gorps = ConcurrentHashMap.newKeySet();
+
+  private static final Set<Object> testInstances = ConcurrentHashMap.newKeySet();
+
+  private static final AtomicInteger destroyed = new AtomicInteger();
+
+  @Inject
+  private Gorp gorp;
+
+  TestTestTemplateInvocations() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Gorp.class);
+  }
+
+  @AfterAll
+  static void assertOneSeContainerAndNoLeftovers() {
+    assertEquals(1, applicationContexts.size());
+    assertEquals(3, gorps.size());
+    assertEquals(3, testInstances.size());
+    assertEquals(3, destroyed.get());
+  }
+
+  @AfterAll
+  static void assertLaterInvocationsReusedFirstInvocationsResolutions() {
+    // Only the first invocation resolves the BeanManager and Gorp parameters (RepetitionInfo is JUnit's); the other
+    // invocations reuse what it recorded.
+    final List<String> events = FlightRecorder.INSTANCE.dump(TestTestTemplateInvocations.class);
+    assertEquals(2,
+                 events.stream()
+                 .filter(e -> e.contains(" TEMPLATE_RESOLUTION_RECORDED " + TestTestTemplateInvocations.class.getName() +
+                                         "#test "))
+                 .count(),
+                 events::toString);
+  }
+
+  @RepeatedTest(3)
+  void test(final BeanManager bm, final Gorp gorp, final RepetitionInfo repetitionInfo) {
+    assertNotNull(repetitionInfo);
+    applicationContexts.add(bm.getContext(ApplicationScoped.class));
+    assertTrue(testInstances.add(this));
+    assertTrue(gorps.add(gorp.id()));
+    assertSame(gorp.id(), this.gorp.id());
+  }
+
+  @TestScoped
+  public static class Gorp {
+
+    private final Object id;
+
+    public Gorp() {
+      super();
+      this.id = new Object();
+    }
+
+    // (Weld client proxies return themselves, not the contextual instance, from methods that return this.)
+    public Object id() {
+      return this.id;
+    }
+
+    @PreDestroy
+    void destroy() {
+      destroyed.incrementAndGet();
+    }
+
+  }
+
+}
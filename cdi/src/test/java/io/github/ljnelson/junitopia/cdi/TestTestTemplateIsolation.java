@@ -0,0 +1,62 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// By default every invocation of a test template gets its own SeContainer, so application-scoped state does not leak
+// from one invocation into the next.
+@ExtendWith(CdiSupport.class)
+class TestTestTemplateIsolation {
+
+  TestTestTemplateIsolation() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(Counter.class);
+  }
+
+  @RepeatedTest(3)
+  void test(final Counter counter) {
+    assertEquals(1, counter.increment());
+  }
+
+  @ApplicationScoped
+  public static class Counter {
+
+    private int count;
+
+    public Counter() {
+      super();
+    }
+
+    public int increment() {
+      return ++this.count;
+    }
+
+  }
+
+}
@@ -0,0 +1,63 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.enterprise.inject.Default;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import jakarta.inject.Qualifier;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.TYPE;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(CdiSupport.class)
+@TestUseCase05.Fast
+class TestUseCase05 {
+
+  TestUseCase05() {
+    super();
+  }
+
+  @Test
+  void testOriginalKeepsTestClassQualifiers(@Original @Fast final TestUseCase05 junitCreatedTestInstance,
+                                            final BeanManager bm) {
+    assertNotNull(junitCreatedTestInstance);
+    assertNotSame(this, junitCreatedTestInstance);
+    final Bean<?> original = bm.resolve(bm.getBeans(TestUseCase05.class, Original.Literal.INSTANCE));
+    assertTrue(original.getQualifiers().stream().anyMatch(q -> q.annotationType() == Fast.class));
+    assertFalse(original.getQualifiers().stream().anyMatch(q -> q.annotationType() == Default.class));
+  }
+
+  @Qualifier
+  @Retention(RUNTIME)
+  @Target({ PARAMETER, TYPE })
+  @interface Fast {}
+
+}
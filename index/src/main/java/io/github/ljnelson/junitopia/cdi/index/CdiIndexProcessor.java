@@ -0,0 +1,295 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi.index;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+
+import javax.lang.model.SourceVersion;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+// An annotation processor that writes an index of the bean classes and test injection points in a compilation to
+// META-INF/junitopia/cdi.index, where junitopia-cdi's CdiSupport finds it at run time without scanning.
+//
+// The index is line-oriented. "bean" lines name (by binary name) classes that bear a bean-defining annotation, declare a
+// producer, or declare an observer method. "test" lines name classes that declare JUnit Jupiter test or lifecycle
+// methods, so that beans nested in one test class can be kept out of the SeContainers of others. "parameter" lines name
+// a parameter of a test, lifecycle or initializer method or constructor, and the qualifiers (by binary name) that
+// appear on it, or "-" if there are none. Qualifiers are recognized by their @Qualifier meta-annotation, so ones
+// registered by portable extensions at run time are not seen.
+public final class CdiIndexProcessor extends AbstractProcessor {
+
+  public static final String RESOURCE = "META-INF/junitopia/cdi.index";
+
+  private final Set<String> beans;
+
+  private final Set<String> tests;
+
+  // Keyed by executable, then parameter index.
+  private final Map<String, Map<Integer, String>> parameters;
+
+  public CdiIndexProcessor() {
+    super();
+    this.beans = new TreeSet<>();
+    this.tests = new TreeSet<>();
+    this.parameters = new TreeMap<>();
+  }
+
+  // The processor runs only in rounds that use at least one of these; it then indexes every root element of the round,
+  // and, once it has run, it runs in every later round too. Scopes, stereotypes and qualifiers of the application's
+  // own are recognized by their meta-annotations, so they need not be listed.
+  @Override // AbstractProcessor
+  public final Set<String> getSupportedAnnotationTypes() {
+    return Set.of("io.github.ljnelson.junitopia.cdi.TestScoped",
+                  "jakarta.decorator.Decorator",
+                  "jakarta.enterprise.context.ApplicationScoped",
+                  "jakarta.enterprise.context.ConversationScoped",
+                  "jakarta.enterprise.context.Dependent",
+                  "jakarta.enterprise.context.NormalScope",
+                  "jakarta.enterprise.context.RequestScoped",
+                  "jakarta.enterprise.context.SessionScoped",
+                  "jakarta.enterprise.event.Observes",
+                  "jakarta.enterprise.event.ObservesAsync",
+                  "jakarta.enterprise.inject.Model",
+                  "jakarta.enterprise.inject.Produces",
+                  "jakarta.enterprise.inject.Stereotype",
+                  "jakarta.inject.Inject",
+                  "jakarta.inject.Scope",
+                  "jakarta.inject.Singleton",
+                  "jakarta.interceptor.Interceptor",
+                  "org.junit.jupiter.api.AfterAll",
+                  "org.junit.jupiter.api.AfterEach",
+                  "org.junit.jupiter.api.BeforeAll",
+                  "org.junit.jupiter.api.BeforeEach",
+                  "org.junit.jupiter.api.RepeatedTest",
+                  "org.junit.jupiter.api.Test",
+                  "org.junit.jupiter.api.TestFactory",
+                  "org.junit.jupiter.api.TestTemplate",
+                  "org.junit.jupiter.params.ParameterizedTest");
+  }
+
+  @Override // AbstractProcessor
+  public final SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override // AbstractProcessor
+  public final boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+    if (roundEnvironment.processingOver()) {
+      this.write();
+    } else {
+      for (final Element e : roundEnvironment.getRootElements()) {
+        if (e.getKind().isClass() || e.getKind().isInterface()) {
+          this.index((TypeElement)e);
+        }
+      }
+    }
+    // Never claim anything; other processors may well be interested in the same annotations.
+    return false;
+  }
+
+  private final void index(final TypeElement t) {
+    boolean bean = beanDefining(t);
+    final String binaryName = this.binaryName(t);
+    for (final Element e : t.getEnclosedElements()) {
+      switch (e.getKind()) {
+      case CLASS:
+      case ENUM:
+      case INTERFACE:
+        this.index((TypeElement)e);
+        break;
+      case FIELD:
+        bean = bean || annotated(e, "jakarta.enterprise.inject.Produces");
+        break;
+      case METHOD:
+        bean = bean || annotated(e, "jakarta.enterprise.inject.Produces") || observer((ExecutableElement)e);
+        if (annotated(e, "jakarta.inject.Inject")) {
+          this.index(binaryName, (ExecutableElement)e, null);
+        } else if (test(e)) {
+          this.index(binaryName, (ExecutableElement)e, null);
+          this.tests.add(binaryName);
+        }
+        break;
+      case CONSTRUCTOR:
+        // Test class constructors may have their parameters resolved too, so index all of them.
+        this.index(binaryName, (ExecutableElement)e, inner(t) ? (TypeElement)t.getEnclosingElement() : null);
+        break;
+      default:
+        break;
+      }
+    }
+    if (bean &&
+        t.getKind() == ElementKind.CLASS &&
+        !t.getModifiers().contains(Modifier.ABSTRACT) &&
+        (t.getNestingKind() == NestingKind.TOP_LEVEL || t.getModifiers().contains(Modifier.STATIC))) {
+      this.beans.add(binaryName);
+    }
+  }
+
+  // If the supplied enclosing TypeElement is not null, the supplied ExecutableElement is the constructor of an inner
+  // class it encloses. Its instance is passed as a parameter that the language model leaves out but reflection does
+  // not, so it is recorded as the (unqualified) first parameter, and the rest are shifted along, as at run time.
+  private final void index(final String binaryName, final ExecutableElement e, final TypeElement enclosing) {
+    final StringJoiner types = new StringJoiner(",", "(", ")");
+    if (enclosing != null) {
+      types.add(this.binaryName(enclosing));
+    }
+    for (final VariableElement p : e.getParameters()) {
+      types.add(this.typeName(p.asType()));
+    }
+    final String name = e.getKind() == ElementKind.CONSTRUCTOR ? "<init>" : e.getSimpleName().toString();
+    final Map<Integer, String> qualifiers = this.parameters.computeIfAbsent(binaryName + "#" + name + types, k -> new TreeMap<>());
+    int i = 0;
+    if (enclosing != null) {
+      qualifiers.put(i++, "-");
+    }
+    for (final VariableElement p : e.getParameters()) {
+      final StringJoiner qs = new StringJoiner(",");
+      qs.setEmptyValue("-");
+      for (final AnnotationMirror a : p.getAnnotationMirrors()) {
+        final TypeElement annotationType = (TypeElement)a.getAnnotationType().asElement();
+        if (annotated(annotationType, "jakarta.inject.Qualifier")) {
+          qs.add(this.binaryName(annotationType));
+        }
+      }
+      qualifiers.put(i++, qs.toString());
+    }
+  }
+
+  private final void write() {
+    if (this.beans.isEmpty() && this.tests.isEmpty() && this.parameters.isEmpty()) {
+      return;
+    }
+    try {
+      final FileObject f = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE);
+      try (final Writer w = f.openWriter()) {
+        w.write("# Generated by " + this.getClass().getName() + "; do not edit\n");
+        for (final String bean : this.beans) {
+          w.write("bean " + bean + "\n");
+        }
+        for (final String test : this.tests) {
+          w.write("test " + test + "\n");
+        }
+        for (final Map.Entry<String, Map<Integer, String>> e : this.parameters.entrySet()) {
+          for (final Map.Entry<Integer, String> p : e.getValue().entrySet()) {
+            w.write("parameter " + e.getKey() + " " + p.getKey() + " " + p.getValue() + "\n");
+          }
+        }
+      }
+    } catch (final IOException e) {
+      this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write " + RESOURCE + ": " + e);
+    }
+  }
+
+  // Returns the name of the erasure of the supplied type as java.lang.Class#getTypeName() would return it at run time.
+  private final String typeName(final TypeMirror t) {
+    final TypeMirror erasure = this.processingEnv.getTypeUtils().erasure(t);
+    switch (erasure.getKind()) {
+    case ARRAY:
+      return this.typeName(((ArrayType)erasure).getComponentType()) + "[]";
+    case DECLARED:
+      return this.binaryName((TypeElement)((DeclaredType)erasure).asElement());
+    default:
+      return erasure.getKind().name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final String binaryName(final TypeElement t) {
+    return this.processingEnv.getElementUtils().getBinaryName(t).toString();
+  }
+
+  private static final boolean beanDefining(final TypeElement t) {
+    for (final AnnotationMirror a : t.getAnnotationMirrors()) {
+      final TypeElement annotationType = (TypeElement)a.getAnnotationType().asElement();
+      switch (annotationType.getQualifiedName().toString()) {
+      case "jakarta.decorator.Decorator":
+      case "jakarta.interceptor.Interceptor":
+        return true;
+      default:
+        if (annotated(annotationType, "jakarta.inject.Scope") ||
+            annotated(annotationType, "jakarta.enterprise.context.NormalScope") ||
+            annotated(annotationType, "jakarta.enterprise.inject.Stereotype")) {
+          return true;
+        }
+        break;
+      }
+    }
+    return false;
+  }
+
+  // Whether the supplied TypeElement is that of an inner class, whose instances have an enclosing instance.
+  private static final boolean inner(final TypeElement t) {
+    return
+      t.getKind() == ElementKind.CLASS &&
+      t.getNestingKind() == NestingKind.MEMBER &&
+      !t.getModifiers().contains(Modifier.STATIC) &&
+      t.getEnclosingElement().getKind().isClass();
+  }
+
+  private static final boolean observer(final ExecutableElement e) {
+    for (final VariableElement p : e.getParameters()) {
+      if (annotated(p, "jakarta.enterprise.event.Observes") || annotated(p, "jakarta.enterprise.event.ObservesAsync")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Whether the supplied Element is a JUnit Jupiter test, lifecycle or template method, and so might have its parameters
+  // resolved by CdiSupport.
+  private static final boolean test(final Element e) {
+    for (final AnnotationMirror a : e.getAnnotationMirrors()) {
+      if (((TypeElement)a.getAnnotationType().asElement()).getQualifiedName().toString().startsWith("org.junit.jupiter.")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final boolean annotated(final Element e, final String annotationTypeName) {
+    for (final AnnotationMirror a : e.getAnnotationMirrors()) {
+      if (((TypeElement)a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationTypeName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
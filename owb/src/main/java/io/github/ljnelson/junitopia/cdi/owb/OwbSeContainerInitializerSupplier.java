@@ -0,0 +1,242 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi.owb;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+
+import java.util.function.Supplier;
+
+import jakarta.enterprise.event.Observes;
+
+import jakarta.enterprise.inject.UnproxyableResolutionException;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.BeforeBeanDiscovery;
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.apache.openwebbeans.se.CDISeBeanArchiveService;
+import org.apache.openwebbeans.se.CDISeLoaderService;
+import org.apache.openwebbeans.se.OWBContainer;
+import org.apache.openwebbeans.se.OWBInitializer;
+
+import org.apache.webbeans.component.OwbBean;
+
+import org.apache.webbeans.config.DeploymentValidationService;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.config.WebBeansFinder;
+
+import org.apache.webbeans.corespi.DefaultSingletonService;
+
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.ScannerService;
+
+// Supplies OpenWebBeans SE SeContainerInitializers configured for what a test suite does: boot many small,
+// short-lived containers. For use with CdiSupport(Supplier), or through OwbCdiSupport.
+public final class OwbSeContainerInitializerSupplier implements Supplier<SeContainerInitializer> {
+
+  private final boolean discovery;
+
+  public OwbSeContainerInitializerSupplier() {
+    this(true);
+  }
+
+  // If discovery is false, bean discovery, and so scanning the test classpath for bean archives, is disabled, and bean
+  // classes must be added explicitly (or found by JUnitopia: CDI's compile-time index).
+  public OwbSeContainerInitializerSupplier(final boolean discovery) {
+    super();
+    this.discovery = discovery;
+  }
+
+  @Override // Supplier<SeContainerInitializer>
+  public final SeContainerInitializer get() {
+    final SeContainerInitializer owb = new Initializer()
+      // OpenWebBeans SE keeps one container per ClassLoader, and CdiSupport routinely runs several at once. A
+      // throwaway child of the context ClassLoader, which loads nothing itself, gives each container its own.
+      .setClassLoader(new ContainerClassLoader(Thread.currentThread().getContextClassLoader()));
+    return this.discovery ? owb : owb.disableDiscovery();
+  }
+
+  // An OWBInitializer whose containers accept what test classes routinely do and Weld allows (with relaxed construction
+  // on, as it is by default in Weld SE):
+  // * A @TestScoped, and so proxied, test class may have a private no-argument constructor. OpenWebBeans never actually
+  //   calls it to instantiate its proxies, so only its validation stands in the way.
+  // * A bean class may be a private nested class. OpenWebBeans skips those when it finds them among a deployment's
+  //   bean classes, but not when they are added as annotated types.
+  private static final class Initializer extends OWBInitializer {
+
+    private final Set<Class<?>> privateBeanClasses;
+
+    private Initializer() {
+      super();
+      this.privateBeanClasses = new LinkedHashSet<>();
+    }
+
+    @Override // OWBInitializer
+    public final SeContainerInitializer addBeanClasses(final Class<?>... classes) {
+      final List<Class<?>> beanClasses = new ArrayList<>(classes.length);
+      for (final Class<?> c : classes) {
+        if (Modifier.isPrivate(c.getModifiers())) {
+          this.privateBeanClasses.add(c);
+        } else {
+          beanClasses.add(c);
+        }
+      }
+      return super.addBeanClasses(beanClasses.toArray(new Class<?>[0]));
+    }
+
+    // As OWBInitializer#initialize() does it, except for the WebBeansContext.
+    @Override // OWBInitializer
+    public final SeContainer initialize() {
+      final Thread t = Thread.currentThread();
+      final ClassLoader old = t.getContextClassLoader();
+      t.setContextClassLoader(this.loader);
+      try {
+        if (!this.privateBeanClasses.isEmpty()) {
+          this.extensions.add(new PrivateBeanClasses(List.copyOf(this.privateBeanClasses)));
+        }
+        if (!this.properties.containsKey(ScannerService.class.getName())) {
+          this.services.putIfAbsent(ScannerService.class.getName(), this.getScannerService());
+        }
+        if (!this.properties.containsKey(LoaderService.class.getName())) {
+          this.services.putIfAbsent(LoaderService.class.getName(), new CDISeLoaderService(this.extensions, this.loader));
+        }
+        if (!this.properties.containsKey(BeanArchiveService.class.getName())) {
+          this.services.putIfAbsent(BeanArchiveService.class.getName(), new CDISeBeanArchiveService(this.bai));
+        }
+        this.addCustomServices(this.services);
+        final Map<Class<?>, Object> services = new HashMap<>();
+        for (final Entry<String, Object> e : this.services.entrySet()) {
+          services.put(this.loader.loadClass(e.getKey()), e.getValue());
+        }
+        final WebBeansContext webBeansContext = new RelaxedWebBeansContext(services, this.properties);
+        ((DefaultSingletonService)WebBeansFinder.getSingletonService()).register(this.loader, webBeansContext);
+        return this.newContainer(webBeansContext);
+      } catch (final ClassNotFoundException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      } finally {
+        t.setContextClassLoader(old);
+      }
+    }
+
+    // As OWBInitializer#newContainer(WebBeansContext) does it, except for closing.
+    @Override // OWBInitializer
+    protected final SeContainer newContainer(final WebBeansContext webBeansContext) {
+      final Object startEvent = new Object();
+      webBeansContext.getService(ContainerLifecycle.class).startApplication(startEvent);
+      final ClassLoader loader = this.loader;
+      return new OWBContainer(webBeansContext, startEvent) {
+        @Override // OWBContainer
+        protected final void doClose() {
+          try {
+            super.doClose();
+          } finally {
+            // OpenWebBeans forgets containers by the context ClassLoader, not the one this container is registered
+            // under, and would otherwise keep every container a test suite boots.
+            WebBeansFinder.clearInstances(loader);
+          }
+        }
+      };
+    }
+
+  }
+
+  private static final class PrivateBeanClasses implements Extension {
+
+    private final List<Class<?>> classes;
+
+    private PrivateBeanClasses(final List<Class<?>> classes) {
+      super();
+      this.classes = classes;
+    }
+
+    private final void addAnnotatedTypes(@Observes final BeforeBeanDiscovery event) {
+      for (final Class<?> c : this.classes) {
+        event.addAnnotatedType(c, c.getName());
+      }
+    }
+
+  }
+
+  private static final class RelaxedWebBeansContext extends WebBeansContext {
+
+    private final DeploymentValidationService deploymentValidationService;
+
+    private RelaxedWebBeansContext(final Map<Class<?>, Object> services, final Properties properties) {
+      super(services, properties);
+      this.deploymentValidationService = new DeploymentValidationService(this) {
+          @Override // DeploymentValidationService
+          public final UnproxyableResolutionException validateProxyable(final OwbBean<?> bean,
+                                                                        final boolean ignoreFinalMethods) {
+            final UnproxyableResolutionException e = super.validateProxyable(bean, ignoreFinalMethods);
+            return e == null || !constructorOnly(bean.getReturnType()) ? e : null;
+          }
+        };
+    }
+
+    @Override // WebBeansContext
+    public final DeploymentValidationService getDeploymentValidationService() {
+      return this.deploymentValidationService;
+    }
+
+    // Returns true if nothing but the visibility of c's no-argument constructor could have made it unproxyable. (The
+    // proxy's constructor still calls it, so it has to exist.)
+    private static final boolean constructorOnly(final Class<?> c) {
+      if (c.isPrimitive() || c.isArray() || Modifier.isFinal(c.getModifiers())) {
+        return false;
+      }
+      try {
+        c.getDeclaredConstructor();
+      } catch (final NoSuchMethodException e) {
+        return false;
+      }
+      for (Class<?> x = c; x != null && x != Object.class; x = x.getSuperclass()) {
+        for (final Method m : x.getDeclaredMethods()) {
+          final int modifiers = m.getModifiers();
+          if (Modifier.isFinal(modifiers) && !Modifier.isPrivate(modifiers) && !Modifier.isStatic(modifiers)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+  }
+
+  private static final class ContainerClassLoader extends ClassLoader {
+
+    static {
+      registerAsParallelCapable();
+    }
+
+    private ContainerClassLoader(final ClassLoader parent) {
+      super(parent);
+    }
+
+  }
+
+}
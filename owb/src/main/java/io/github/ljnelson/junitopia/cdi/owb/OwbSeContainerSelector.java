@@ -0,0 +1,33 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi.owb;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import org.apache.openwebbeans.se.SeContainerSelector;
+
+// Makes SeContainerInitializer.newInstance(), and so a plain CdiSupport, use OwbSeContainerInitializerSupplier's
+// tuning whenever this module is on the classpath.
+public final class OwbSeContainerSelector implements SeContainerSelector {
+
+  public OwbSeContainerSelector() {
+    super();
+  }
+
+  @Override // SeContainerSelector
+  public final SeContainerInitializer find() {
+    return new OwbSeContainerInitializerSupplier().get();
+  }
+
+}
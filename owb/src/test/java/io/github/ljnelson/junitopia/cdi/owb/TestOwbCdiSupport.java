@@ -0,0 +1,66 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2024 Laird Nelson.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.github.ljnelson.junitopia.cdi.owb;
+
+import jakarta.enterprise.context.Dependent;
+
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.github.ljnelson.junitopia.cdi.TestScoped;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(OwbCdiSupport.class)
+class TestOwbCdiSupport {
+
+  @Inject
+  private MyBean bean;
+
+  private TestOwbCdiSupport() {
+    super();
+  }
+
+  @BeforeAll
+  static void configure(final SeContainerInitializer sci) {
+    sci.disableDiscovery()
+      .addBeanClasses(MyBean.class);
+  }
+
+  @Test
+  void testPrivatelyConstructedTestClassIsTestScoped(final BeanManager bm) {
+    assertNotNull(this.bean);
+    assertEquals(TestScoped.class, bm.resolve(bm.getBeans(TestOwbCdiSupport.class)).getScope());
+  }
+
+  @Dependent
+  static class MyBean {
+
+    @Inject
+    MyBean() {
+      super();
+    }
+
+  }
+
+}